@@ -0,0 +1,105 @@
+import java.util.*;
+
+/**
+ * Índices invertidos das listas de Game: para cada valor de cada ListField, o conjunto
+ * (RoaringBitmap) das linhas da GameTable que o contêm.
+ *
+ * Observações:
+ * - Consultas combinam facetas com and/or/not, sem varrer a tabela:
+ *   idx.select(and(has(TAGS, "Roguelike"), has(TAGS, "Co-op"), has(SUPPORTED_LANGUAGES, "Portuguese - Brazil"))).
+ * - Os bitmaps são indexados pelo código do ValueDictionary; valor desconhecido = conjunto vazio.
+ * - O índice é um retrato da tabela no momento do build; linhas novas exigem reconstruir.
+ */
+public final class FacetIndex {
+    private final RoaringBitmap[][] postings = new RoaringBitmap[Game.ListField.values().length][];
+    private final int rows;
+
+    private FacetIndex(int rows) { this.rows = rows; }
+
+    public static FacetIndex build(GameTable t) {
+        FacetIndex idx = new FacetIndex(t.size());
+        int dict = ValueDictionary.size();
+        for (Game.ListField f : Game.ListField.values()) {
+            RoaringBitmap[] byCode = new RoaringBitmap[dict];
+            int[] off = t.offsets(f), codes = t.codes(f);
+            for (int r = 0; r < t.size(); r++) {       // linhas em ordem: add() só anexa
+                for (int i = off[r]; i < off[r + 1]; i++) {
+                    if (byCode[codes[i]] == null) byCode[codes[i]] = new RoaringBitmap();
+                    byCode[codes[i]].add(r);
+                }
+            }
+            idx.postings[f.ordinal()] = byCode;
+        }
+        return idx;
+    }
+
+    public int rows() { return rows; }
+
+    /**
+     * Linhas cujo campo f contém value (não modificar o conjunto devolvido). Valor sem
+     * linhas devolve um bitmap vazio novo a cada chamada, nunca uma instância compartilhada.
+     */
+    public RoaringBitmap bitmap(Game.ListField f, String value) {
+        int code = ValueDictionary.find(value);
+        RoaringBitmap[] byCode = postings[f.ordinal()];
+        return code >= 0 && code < byCode.length && byCode[code] != null ? byCode[code] : new RoaringBitmap();
+    }
+
+    public int count(Game.ListField f, String value) { return bitmap(f, value).cardinality(); }
+
+    // Pode devolver o próprio bitmap do índice: não modificar
+    public RoaringBitmap eval(Query q) { return q.eval(this); }
+
+    /** Linhas (em ordem crescente) que satisfazem a consulta. */
+    public int[] select(Query q) { return q.eval(this).toArray(); }
+
+    // -------------------- Consultas --------------------
+    /** Expressão booleana sobre facetas; avaliada inteiramente em bitmaps. */
+    public interface Query {
+        RoaringBitmap eval(FacetIndex idx);
+    }
+
+    public static Query has(Game.ListField f, String value) { return idx -> idx.bitmap(f, value); }
+
+    public static Query not(Query q) { return new Not(q); }
+
+    /**
+     * Interseção. Os termos positivos são cruzados do menor para o maior conjunto; os
+     * negados viram andNot em vez de complemento (exceto se não houver termo positivo).
+     */
+    public static Query and(Query... qs) {
+        Query[] terms = qs.clone();
+        return idx -> {
+            List<RoaringBitmap> pos = new ArrayList<>(), neg = new ArrayList<>();
+            for (Query q : terms) {
+                if (q instanceof Not) neg.add(((Not) q).inner.eval(idx));
+                else pos.add(q.eval(idx));
+            }
+            pos.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+            RoaringBitmap r = pos.isEmpty() ? RoaringBitmap.range(0, idx.rows) : pos.get(0);
+            for (int i = 1; i < pos.size() && !r.isEmpty(); i++) r = r.and(pos.get(i));
+            for (RoaringBitmap b : neg) r = r.andNot(b);
+            return r;
+        };
+    }
+
+    public static Query or(Query... qs) {
+        Query[] terms = qs.clone();
+        return idx -> {
+            RoaringBitmap r = new RoaringBitmap();
+            for (Query q : terms) r = r.or(q.eval(idx));
+            return r;
+        };
+    }
+
+    private static final class Not implements Query {
+        final Query inner;
+
+        Not(Query inner) { this.inner = inner; }
+
+        @Override
+        public RoaringBitmap eval(FacetIndex idx) {
+            return RoaringBitmap.range(0, idx.rows).andNot(inner.eval(idx));
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.*;
 
@@ -13,23 +14,31 @@ import java.util.regex.*;
  *   "user_score", "achievements", "publishers", "developers",
  *   "categories", "genres", "tags".
  * - Caso seu CSV use rótulos diferentes, basta ajustar os aliases abaixo.
+ * - Para carregar muitas linhas, resolva os aliases uma vez com RowSchema(cabeçalho) e use
+ *   Game.fromCSV(campos, schema): cada linha é lida por posição, sem montar mapa.
+ * - As listas são guardadas como códigos do ValueDictionary; os getters decodificam.
+ * - Para filtrar sem alocar, use listSize/listGet/listContains/listView em vez dos getters.
  */
 public class Game {
     // -------------------- Campos do modelo --------------------
     private int id;                                // Identificador único
     private String name;                           // Nome
-    private String releaseDate;                    // dd/mm/aaaa (completando com 01)
+    private int releaseDate = NO_DATE;             // aaaammdd (dd/mm/aaaa só ao exibir)
+    private String releaseDateText;                // só quando aaaammdd não reproduz o texto
     private int estimatedOwners;                   // inteiro (remove não numéricos)
     private float price;                           // float (Free to Play -> 0.0)
-    private String[] supportedLanguages;           // array entre colchetes
+    private int[] supportedLanguages;              // array entre colchetes
     private int metacriticScore;                   // inteiro (vazio -> -1)
     private float userScore;                       // float (vazio ou tbd -> -1.0)
     private int achievements;                      // inteiro (vazio -> 0)
-    private String[] publishers;                   // array separado por vírgulas
-    private String[] developers;                   // array separado por vírgulas
-    private String[] categories;                   // array entre colchetes
-    private String[] genres;                       // array entre colchetes
-    private String[] tags;                         // array entre colchetes
+    private int[] publishers;                      // array separado por vírgulas
+    private int[] developers;                      // array separado por vírgulas
+    private int[] categories;                      // array entre colchetes
+    private int[] genres;                          // array entre colchetes
+    private int[] tags;                            // array entre colchetes
+
+    /** Campos do tipo lista, todos codificados no ValueDictionary. */
+    public enum ListField { SUPPORTED_LANGUAGES, PUBLISHERS, DEVELOPERS, CATEGORIES, GENRES, TAGS }
 
     // -------------------- Construtores --------------------
     public Game() {}
@@ -41,118 +50,273 @@ public class Game {
                 String[] tags) {
         this.id = id;
         this.name = safe(name);
-        this.releaseDate = releaseDate;
+        setReleaseDateText(releaseDate);
         this.estimatedOwners = estimatedOwners;
         this.price = price;
-        this.supportedLanguages = normArray(supportedLanguages);
+        this.supportedLanguages = ValueDictionary.encode(normArray(supportedLanguages));
         this.metacriticScore = metacriticScore;
         this.userScore = userScore;
         this.achievements = achievements;
-        this.publishers = normArray(publishers);
-        this.developers = normArray(developers);
-        this.categories = normArray(categories);
-        this.genres = normArray(genres);
-        this.tags = normArray(tags);
+        this.publishers = ValueDictionary.encode(normArray(publishers));
+        this.developers = ValueDictionary.encode(normArray(developers));
+        this.categories = ValueDictionary.encode(normArray(categories));
+        this.genres = ValueDictionary.encode(normArray(genres));
+        this.tags = ValueDictionary.encode(normArray(tags));
     }
 
     // -------------------- Fábrica a partir do CSV --------------------
+    // Aliases comuns de cabeçalhos no dataset, um grupo por campo (na ordem de F_*)
+    private static final String[][] ALIASES = {
+        {"id", "appid", "AppID"},
+        {"name", "Name"},
+        {"releaseDate", "release_date", "Release date"},
+        {"estimatedOwners", "estimated_owners", "owners"},
+        {"price", "Price"},
+        {"supportedLanguages", "languages", "Supported languages"},
+        {"metacriticScore", "metacritic_score", "Metacritic score"},
+        {"userScore", "user_score", "User score"},
+        {"achievements", "Achievements"},
+        {"publishers", "publisher", "Publishers"},
+        {"developers", "developer", "Developers"},
+        {"categories", "Categories"},
+        {"genres", "Genres"},
+        {"tags", "Tags"}
+    };
+    private static final int F_ID = 0, F_NAME = 1, F_RELEASE = 2, F_OWNERS = 3, F_PRICE = 4, F_LANGS = 5,
+                             F_META = 6, F_USER = 7, F_ACH = 8, F_PUBS = 9, F_DEVS = 10, F_CATS = 11,
+                             F_GENRES = 12, F_TAGS = 13, FIELDS = 14;
+
     public static Game fromCSV(Map<String, String> row) {
-        // Aliases comuns de cabeçalhos no dataset
-        String idStr         = pick(row, "id", "appid", "AppID");
-        String nameStr       = pick(row, "name", "Name");
-        String rdStr         = pick(row, "releaseDate", "release_date", "Release date");
-        String ownersStr     = pick(row, "estimatedOwners", "estimated_owners", "owners");
-        String priceStr      = pick(row, "price", "Price");
-        String langsStr      = pick(row, "supportedLanguages", "languages", "Supported languages");
-        String metaStr       = pick(row, "metacriticScore", "metacritic_score", "Metacritic score");
-        String userStr       = pick(row, "userScore", "user_score", "User score");
-        String achStr        = pick(row, "achievements", "Achievements");
-        String pubsStr       = pick(row, "publishers", "publisher", "Publishers");
-        String devsStr       = pick(row, "developers", "developer", "Developers");
-        String catsStr       = pick(row, "categories", "Categories");
-        String gensStr       = pick(row, "genres", "Genres");
-        String tagsStr       = pick(row, "tags", "Tags");
+        String[] v = new String[FIELDS];
+        for (int f = 0; f < FIELDS; f++) v[f] = pick(row, ALIASES[f]);
+        return build(v);
+    }
+
+    /** Linha já separada em campos, na ordem do cabeçalho usado para criar o schema. */
+    public static Game fromCSV(String[] fields, RowSchema schema) {
+        String[] v = new String[FIELDS];
+        for (int f = 0; f < FIELDS; f++) v[f] = schema.value(fields, f);
+        return build(v);
+    }
+
+    /**
+     * Linha em bytes UTF-8: o campo i ocupa buf[start[i], end[i]) para i < count.
+     * Só os campos usados pelo schema viram String.
+     */
+    public static Game fromCSV(byte[] buf, int[] start, int[] end, int count, RowSchema schema) {
+        String[] v = new String[FIELDS];
+        for (int f = 0; f < FIELDS; f++) {
+            int i = schema.column(f, count);
+            if (i >= 0) v[f] = new String(buf, start[i], end[i] - start[i], StandardCharsets.UTF_8);
+        }
+        return build(v);
+    }
+
+    /**
+     * Aliases resolvidos contra o cabeçalho uma única vez. Para cada campo guarda as colunas
+     * de todos os aliases presentes, na ordem em que pick() os tentaria; assim uma linha mais
+     * curta que o cabeçalho (ou com campo nulo) cai no próximo alias, como no mapa.
+     */
+    public static final class RowSchema {
+        private final int[][] columns = new int[FIELDS][];
+
+        public RowSchema(String[] header) {
+            Map<String, Integer> pos = new HashMap<>();
+            for (int i = 0; i < header.length; i++) pos.put(header[i], i); // repetido: vale o último, como num mapa
+            for (int f = 0; f < FIELDS; f++) {
+                int[] cols = new int[ALIASES[f].length];
+                int n = 0;
+                for (String alias : ALIASES[f]) {
+                    Integer i = pos.get(alias);
+                    if (i != null) cols[n++] = i;
+                }
+                columns[f] = Arrays.copyOf(cols, n);
+            }
+        }
+
+        // Primeira coluna do campo f existente numa linha de count campos, ou -1
+        int column(int f, int count) {
+            for (int i : columns[f]) if (i < count) return i;
+            return -1;
+        }
+
+        String value(String[] fields, int f) {
+            for (int i : columns[f]) if (i < fields.length && fields[i] != null) return fields[i];
+            return null;
+        }
+    }
+
+    private static Game build(String[] v) {
+        String idStr = v[F_ID], nameStr = v[F_NAME], rdStr = v[F_RELEASE], ownersStr = v[F_OWNERS],
+               priceStr = v[F_PRICE], langsStr = v[F_LANGS], metaStr = v[F_META], userStr = v[F_USER],
+               achStr = v[F_ACH], pubsStr = v[F_PUBS], devsStr = v[F_DEVS], catsStr = v[F_CATS],
+               gensStr = v[F_GENRES], tagsStr = v[F_TAGS];
 
         Game g = new Game();
         g.id = parseIntSafe(idStr, 0);
         g.name = safe(nameStr);
-        g.releaseDate = normalizeDate(rdStr); // dd/mm/aaaa (com 01 em faltantes)
+        g.setReleaseDate(parseDate(rdStr)); // dd/mm/aaaa (com 01 em faltantes)
         g.estimatedOwners = normalizeEstimatedOwners(ownersStr);
         g.price = normalizePrice(priceStr);
-        g.supportedLanguages = extractBracketedList(langsStr);
+        g.supportedLanguages = ValueDictionary.encode(extractBracketedList(langsStr));
         g.metacriticScore = parseIntDefault(metaStr, -1);
         g.userScore = normalizeUserScore(userStr);
         g.achievements = parseIntDefault(achStr, 0);
-        g.publishers = splitCommaList(pubsStr);
-        g.developers = splitCommaList(devsStr);
-        g.categories = extractBracketedList(catsStr);
-        g.genres = extractBracketedList(gensStr);
-        g.tags = extractBracketedList(tagsStr);
+        g.publishers = ValueDictionary.encode(splitCommaList(pubsStr));
+        g.developers = ValueDictionary.encode(splitCommaList(devsStr));
+        g.categories = ValueDictionary.encode(extractBracketedList(catsStr));
+        g.genres = ValueDictionary.encode(extractBracketedList(gensStr));
+        g.tags = ValueDictionary.encode(extractBracketedList(tagsStr));
         return g;
     }
 
     // -------------------- Normalizações --------------------
 
-    // 1) releaseDate -> dd/mm/aaaa; completar faltantes com "01"
-    private static String normalizeDate(String raw) {
-        if (isBlank(raw)) return "01/01/0001"; // valor neutro caso ausente
-        String s = raw.trim();
+    // 1) releaseDate -> aaaammdd; completar faltantes com 01
+    // Formatos comuns: "2015-03-10", "Mar 10, 2015", "10 Mar, 2015", "2015", "Mar 2015"
+    // Estratégia:
+    // - Tenta ISO yyyy-MM-dd
+    // - Tenta dd/MM/yyyy já pronto
+    // - Tenta com meses por extenso (en-US e pt-BR curtos)
+    // - Se tiver só ano, vira 01/01/ano; se tiver mês e ano, vira 01/mm/ano
+    // - fallback seguro: 01/01/0001
+    // Tudo por índices sobre o texto original: sem regex, split nem String intermediária.
+    // O ano pode ser qualquer int, por isso o resultado é long (ano * 10000 + mês * 100 + dia).
+    static long parseDate(String raw) {
+        return parseDate(raw, DEFAULT_DATE);
+    }
+
+    // Como parseDate(raw), devolvendo fallback quando o texto não é data nenhuma
+    static long parseDate(String raw, long fallback) {
+        if (isBlank(raw)) return fallback; // valor neutro caso ausente
+        int from = 0, to = raw.length();
+        while (from < to && raw.charAt(from) <= ' ') from++;
+        while (to > from && raw.charAt(to - 1) <= ' ') to--;
 
-        // Formatos comuns: "2015-03-10", "Mar 10, 2015", "10 Mar, 2015", "2015", "Mar 2015"
-        // Estratégia:
-        // - Tenta ISO yyyy-MM-dd
-        // - Tenta dd/MM/yyyy já pronto
-        // - Tenta com meses por extenso (en-US e pt-BR curtos)
-        // - Se tiver só ano, vira 01/01/ano; se tiver mês e ano, vira 01/mm/ano
-        // - fallback seguro: 01/01/0001
         // ISO yyyy-MM-dd
-        if (s.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            String[] p = s.split("-");
-            return String.format("%02d/%02d/%04d", parseIntSafe(p[2], 1), parseIntSafe(p[1], 1), parseIntSafe(p[0], 1));
+        if (to - from == 10 && digits(raw, from, 4) && raw.charAt(from + 4) == '-' && digits(raw, from + 5, 2)
+                && raw.charAt(from + 7) == '-' && digits(raw, from + 8, 2)) {
+            return packDate(number(raw, from, 4), number(raw, from + 5, 2), number(raw, from + 8, 2));
         }
-        // dd/MM/yyyy
-        if (s.matches("\\d{1,2}/\\d{1,2}/\\d{4}")) {
-            String[] p = s.split("/");
-            int d = parseIntSafe(p[0], 1);
-            int m = parseIntSafe(p[1], 1);
-            int y = parseIntSafe(p[2], 1);
-            return String.format("%02d/%02d/%04d", clamp(d,1,31), clamp(m,1,12), y);
+        // dd/MM/yyyy (dia e mês com 1 ou 2 dígitos)
+        int s1 = raw.indexOf('/', from), s2 = s1 < 0 ? -1 : raw.indexOf('/', s1 + 1);
+        if (s1 > from && s1 - from <= 2 && s2 > s1 + 1 && s2 - s1 - 1 <= 2 && to - s2 - 1 == 4
+                && digits(raw, from, s1 - from) && digits(raw, s1 + 1, s2 - s1 - 1) && digits(raw, s2 + 1, 4)) {
+            int d = number(raw, from, s1 - from), m = number(raw, s1 + 1, s2 - s1 - 1);
+            return packDate(number(raw, s2 + 1, 4), clamp(m,1,12), clamp(d,1,31));
         }
+
         // Padrões com mês por nome (en-US): "Mar 10, 2015" | "10 Mar, 2015" | "Mar 2015"
         // e pt-BR curtos: "10 mar 2015" | "mar 2015"
-        String sClean = s.replace(",", " ").replaceAll("\\s+", " ").trim();
-        String[] parts = sClean.split(" ");
-        Map<String,Integer> mon = monthMap();
+        // Vírgulas e espaços (\\s) separam os tokens; as pontas são aparadas como em trim()
+        while (from < to && (raw.charAt(from) <= ' ' || raw.charAt(from) == ',')) from++;
+        while (to > from && (raw.charAt(to - 1) <= ' ' || raw.charAt(to - 1) == ',')) to--;
+        int[] ts = new int[3], te = new int[3];
+        int parts = 0;
+        for (int i = from; i < to && parts <= 3; ) {
+            while (i < to && isDateSeparator(raw.charAt(i))) i++;
+            int st = i;
+            while (i < to && !isDateSeparator(raw.charAt(i))) i++;
+            if (parts < 3) { ts[parts] = st; te[parts] = i; }
+            parts++;
+        }
+        if (parts == 0) { ts[0] = te[0] = from; parts = 1; } // texto vazio: um token vazio
 
-        if (parts.length == 3) {
+        if (parts == 3) {
             // Casos: "Mar 10 2015" || "10 Mar 2015" || "03 10 2015"
-            Integer m = mon.get(normalizeMonthToken(parts[0]));
-            Integer d = tryParseInt(parts[1]);
-            Integer y = tryParseInt(parts[2]);
-            if (m != null && d != null && y != null) {
-                return String.format("%02d/%02d/%04d", clamp(d,1,31), clamp(m,1,12), y);
+            int m = month(raw, ts[0], te[0]);
+            long d = tryParseInt(raw, ts[1], te[1]);
+            long y = tryParseInt(raw, ts[2], te[2]);
+            if (m > 0 && d != NO_INT && y != NO_INT) {
+                return packDate((int) y, m, clamp((int) d,1,31));
             }
             // inverso: "10 Mar 2015"
-            d = tryParseInt(parts[0]);
-            m = mon.get(normalizeMonthToken(parts[1]));
-            if (d != null && m != null && y != null) {
-                return String.format("%02d/%02d/%04d", clamp(d,1,31), clamp(m,1,12), y);
+            d = tryParseInt(raw, ts[0], te[0]);
+            m = month(raw, ts[1], te[1]);
+            if (d != NO_INT && m > 0 && y != NO_INT) {
+                return packDate((int) y, m, clamp((int) d,1,31));
             }
-        } else if (parts.length == 2) {
+        } else if (parts == 2) {
             // "Mar 2015" ou "03 2015"
-            Integer m = mon.get(normalizeMonthToken(parts[0]));
-            Integer y = tryParseInt(parts[1]);
-            if (m != null && y != null) {
-                return String.format("01/%02d/%04d", clamp(m,1,12), y);
-            }
-        } else if (parts.length == 1) {
+            int m = month(raw, ts[0], te[0]);
+            long y = tryParseInt(raw, ts[1], te[1]);
+            if (m > 0 && y != NO_INT) return packDate((int) y, m, 1);
+        } else if (parts == 1) {
             // Apenas ano
-            Integer y = tryParseInt(parts[0]);
-            if (y != null) return String.format("01/01/%04d", y);
+            long y = tryParseInt(raw, ts[0], te[0]);
+            if (y != NO_INT) return packDate((int) y, 1, 1);
         }
 
         // fallback
-        return "01/01/0001";
+        return fallback;
+    }
+
+    private static final long DEFAULT_DATE = 10101;        // 01/01/0001
+    private static final int NO_DATE = Integer.MIN_VALUE;  // data nula vinda do construtor
+    private static final int MAX_PACKED_YEAR = 214747;     // maior ano com aaaammdd em int
+    private static final long NO_INT = Long.MIN_VALUE;
+
+    private static long packDate(int y, int m, int d) { return (long) y * 10000 + m * 100 + d; }
+
+    private static boolean isDateSeparator(char c) {
+        return c == ',' || c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    // n dígitos ASCII a partir de i (o \\d das regex)
+    private static boolean digits(String s, int i, int n) {
+        if (i < 0 || i + n > s.length()) return false;
+        for (int k = i; k < i + n; k++) if (s.charAt(k) < '0' || s.charAt(k) > '9') return false;
+        return true;
+    }
+
+    private static int number(String s, int i, int n) {
+        int v = 0;
+        for (int k = i; k < i + n; k++) v = v * 10 + (s.charAt(k) - '0');
+        return v;
+    }
+
+    private void setReleaseDate(long packed) {
+        long y = Math.floorDiv(packed, 10000);
+        releaseDate = (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, packed));
+        if (y < 0 || y > MAX_PACKED_YEAR) { // ano exótico: guarda também o texto
+            int m = Math.floorMod(packed, 10000) / 100, d = Math.floorMod(packed, 100);
+            releaseDateText = String.format("%02d/%02d/%04d", d, m, y);
+        } else {
+            releaseDateText = null;
+        }
+    }
+
+    // Construtor: "dd/mm/aaaa" é empacotado; outro texto é mantido como veio (inclusive null)
+    private void setReleaseDateText(String text) {
+        if (text != null && text.length() == 10 && text.charAt(2) == '/' && text.charAt(5) == '/'
+                && digits(text, 0, 2) && digits(text, 3, 2) && digits(text, 6, 4)) {
+            releaseDate = (int) packDate(number(text, 6, 4), number(text, 3, 2), number(text, 0, 2));
+            releaseDateText = null;
+        } else if (text == null) {
+            releaseDate = NO_DATE;
+            releaseDateText = null;
+        } else {
+            setReleaseDate(parseDate(text));
+            releaseDateText = text;
+        }
+    }
+
+    // Texto guardado à parte quando aaaammdd não reproduz a data (null na maioria dos jogos)
+    String releaseDateText() { return releaseDateText; }
+
+    // Mesma regra de getReleaseDate() para quem guarda só a chave e o texto à parte
+    static String releaseDateOf(int packed, String text) {
+        if (text != null) return text;
+        return packed == NO_DATE ? null : formatDate(packed);
+    }
+
+    private static String formatDate(int packed) {
+        int y = packed / 10000, m = packed / 100 % 100, d = packed % 100;
+        StringBuilder sb = new StringBuilder(10);
+        sb.append((char) ('0' + d / 10)).append((char) ('0' + d % 10)).append('/')
+          .append((char) ('0' + m / 10)).append((char) ('0' + m % 10)).append('/');
+        for (int w = 1000; w > 1 && y < w; w /= 10) sb.append('0'); // %04d
+        return sb.append(y).toString();
     }
 
     // 2) estimatedOwners: remover não numéricos
@@ -230,8 +394,15 @@ public class Game {
         try { return Integer.parseInt(s.trim()); } catch (Exception e) { return def; }
     }
 
-    private static Integer tryParseInt(String s) {
-        try { return Integer.parseInt(s.trim()); } catch (Exception e) { return null; }
+    // Integer.parseInt(s.substring(from, to).trim()) sem criar Strings; NO_INT se inválido
+    private static long tryParseInt(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        int i = from;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        if (i == to) return NO_INT;
+        for (int k = i; k < to; k++) if (Character.digit(s.charAt(k), 10) < 0) return NO_INT;
+        try { return Integer.parseInt(s, from, to, 10); } catch (NumberFormatException e) { return NO_INT; } // estouro
     }
 
     private static int parseIntDefault(String s, int def) {
@@ -252,32 +423,46 @@ public class Game {
         return Math.max(lo, Math.min(hi, x));
     }
 
-    private static String normalizeMonthToken(String t) {
-        if (t == null) return "";
-        String s = t.trim().toLowerCase(Locale.ROOT);
-        // remove ponto de abreviação: "sept." -> "sept"
-        if (s.endsWith(".")) s = s.substring(0, s.length()-1);
-        return s;
-    }
-
-    private static Map<String,Integer> monthMap() {
-        Map<String,Integer> m = new HashMap<>();
-        String[][] pairs = {
-            {"jan","1"},{"january","1"},{"jan.","1"},{"jan","1"},
-            {"feb","2"},{"february","2"},{"fev","2"},{"fevereiro","2"},
-            {"mar","3"},{"march","3"},{"março","3"},{"marco","3"},
-            {"apr","4"},{"april","4"},{"abr","4"},{"abril","4"},
-            {"may","5"},{"mai","5"},
-            {"jun","6"},{"june","6"},{"junho","6"},
-            {"jul","7"},{"july","7"},{"julho","7"},
-            {"aug","8"},{"august","8"},{"ago","8"},{"agosto","8"},
-            {"sep","9"},{"sept","9"},{"september","9"},{"set","9"},{"setembro","9"},
-            {"oct","10"},{"october","10"},{"out","10"},{"outubro","10"},
-            {"nov","11"},{"november","11"},{"novembro","11"},
-            {"dec","12"},{"december","12"},{"dez","12"},{"dezembro","12"}
-        };
-        for (String[] p : pairs) m.put(p[0], Integer.parseInt(p[1]));
-        return m;
+    // Tabela fixa de meses (en-US e pt-BR), montada uma única vez
+    private static final String[] MONTH_NAMES = {
+        "jan","january","jan.",
+        "feb","february","fev","fevereiro",
+        "mar","march","março","marco",
+        "apr","april","abr","abril",
+        "may","mai",
+        "jun","june","junho",
+        "jul","july","julho",
+        "aug","august","ago","agosto",
+        "sep","sept","september","set","setembro",
+        "oct","october","out","outubro",
+        "nov","november","novembro",
+        "dec","december","dez","dezembro"
+    };
+    private static final int[] MONTH_NUMBERS = {
+        1,1,1, 2,2,2,2, 3,3,3,3, 4,4,4,4, 5,5, 6,6,6, 7,7,7, 8,8,8,8, 9,9,9,9,9, 10,10,10,10, 11,11,11, 12,12,12,12
+    };
+
+    // Mês do token s[from, to) aparado, em minúsculas e sem um ponto final de abreviação
+    // ("Sept." -> "sept"); -1 se não for um mês conhecido
+    private static int month(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        if (to > from && s.charAt(to - 1) == '.') to--;
+        int len = to - from;
+        for (int k = 0; k < MONTH_NAMES.length; k++) {
+            String name = MONTH_NAMES[k];
+            if (name.length() != len) continue;
+            int i = 0;
+            while (i < len && lower(s.charAt(from + i)) == name.charAt(i)) i++;
+            if (i == len) return MONTH_NUMBERS[k];
+        }
+        return -1;
+    }
+
+    // toLowerCase(Locale.ROOT) caractere a caractere; 'İ' vira dois caracteres e nunca casa
+    private static char lower(char c) {
+        if (c < 0x80) return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+        return c == '\u0130' ? '\uffff' : Character.toLowerCase(c);
     }
 
     /**
@@ -317,18 +502,80 @@ public class Game {
     // -------------------- Getters --------------------
     public int getId() { return id; }
     public String getName() { return name; }
-    public String getReleaseDate() { return releaseDate; }
+    public String getReleaseDate() { return releaseDateOf(releaseDate, releaseDateText); }
+    /** Data como aaaammdd: filtros por período e ordenação viram comparações de int. */
+    public int getReleaseDateKey() { return releaseDate; }
     public int getEstimatedOwners() { return estimatedOwners; }
     public float getPrice() { return price; }
-    public String[] getSupportedLanguages() { return supportedLanguages.clone(); }
+    public String[] getSupportedLanguages() { return ValueDictionary.decode(supportedLanguages); }
     public int getMetacriticScore() { return metacriticScore; }
     public float getUserScore() { return userScore; }
     public int getAchievements() { return achievements; }
-    public String[] getPublishers() { return publishers.clone(); }
-    public String[] getDevelopers() { return developers.clone(); }
-    public String[] getCategories() { return categories.clone(); }
-    public String[] getGenres() { return genres.clone(); }
-    public String[] getTags() { return tags.clone(); }
+    public String[] getPublishers() { return ValueDictionary.decode(publishers); }
+    public String[] getDevelopers() { return ValueDictionary.decode(developers); }
+    public String[] getCategories() { return ValueDictionary.decode(categories); }
+    public String[] getGenres() { return ValueDictionary.decode(genres); }
+    public String[] getTags() { return ValueDictionary.decode(tags); }
+
+    // Códigos internos, sem cópia: só para as estruturas do pacote (não modificar)
+    int[] codes(ListField f) {
+        switch (f) {
+            case SUPPORTED_LANGUAGES: return supportedLanguages;
+            case PUBLISHERS: return publishers;
+            case DEVELOPERS: return developers;
+            case CATEGORIES: return categories;
+            case GENRES: return genres;
+            default: return tags;
+        }
+    }
+
+    /** Filtro por comparação de inteiros: o código vem de ValueDictionary.find(valor). */
+    public boolean hasCode(ListField f, int code) {
+        for (int c : codes(f)) if (c == code) return true;
+        return false;
+    }
+
+    // -------------------- Listas sem cópia --------------------
+    // Os getters acima continuam devolvendo um array novo a cada chamada; os acessos abaixo
+    // leem direto dos códigos internos, sem alocar (exceto a própria visão em listView).
+    public int listSize(ListField f) { return codes(f).length; }
+
+    public String listGet(ListField f, int i) { return ValueDictionary.value(codes(f)[i]); }
+
+    /** Igual a Arrays.asList(getX()).contains(value), mas sem decodificar a lista. */
+    public boolean listContains(ListField f, String value) {
+        int code = ValueDictionary.find(value);
+        return code >= 0 && hasCode(f, code);
+    }
+
+    /** Visão somente leitura (set/add/remove lançam UnsupportedOperationException). */
+    public List<String> listView(ListField f) { return new CodeList(codes(f)); }
+
+    private static final class CodeList extends AbstractList<String> implements RandomAccess {
+        private final int[] codes;
+
+        CodeList(int[] codes) { this.codes = codes; }
+
+        @Override public String get(int i) { return ValueDictionary.value(codes[i]); }
+        @Override public int size() { return codes.length; }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) return false;
+            int code = ValueDictionary.find((String) o);
+            if (code < 0) return false;
+            for (int c : codes) if (c == code) return true;
+            return false;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            int code = o instanceof String ? ValueDictionary.find((String) o) : -1;
+            if (code < 0) return -1;
+            for (int i = 0; i < codes.length; i++) if (codes[i] == code) return i;
+            return -1;
+        }
+    }
 
     // -------------------- Representação útil --------------------
     @Override
@@ -336,18 +583,18 @@ public class Game {
         return "Game{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
-                ", releaseDate='" + releaseDate + '\'' +
+                ", releaseDate='" + getReleaseDate() + '\'' +
                 ", estimatedOwners=" + estimatedOwners +
                 ", price=" + price +
-                ", supportedLanguages=" + Arrays.toString(supportedLanguages) +
+                ", supportedLanguages=" + Arrays.toString(getSupportedLanguages()) +
                 ", metacriticScore=" + metacriticScore +
                 ", userScore=" + userScore +
                 ", achievements=" + achievements +
-                ", publishers=" + Arrays.toString(publishers) +
-                ", developers=" + Arrays.toString(developers) +
-                ", categories=" + Arrays.toString(categories) +
-                ", genres=" + Arrays.toString(genres) +
-                ", tags=" + Arrays.toString(tags) +
+                ", publishers=" + Arrays.toString(getPublishers()) +
+                ", developers=" + Arrays.toString(getDevelopers()) +
+                ", categories=" + Arrays.toString(getCategories()) +
+                ", genres=" + Arrays.toString(getGenres()) +
+                ", tags=" + Arrays.toString(getTags()) +
                 '}';
     }
 }
@@ -0,0 +1,369 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Ordenação de coleções de Game (ou TP04Q01.Game) por chaves compostas, com vários
+ * algoritmos instrumentados.
+ *
+ * Observações:
+ * - A chave é montada por partes: GameSort.Key.by(Game::getReleaseDateKey).thenByString(Game::getName).
+ *   Cada parte pode ser invertida com descending().
+ * - Todo algoritmo conta comparações, movimentações (escritas de elemento no vetor ou no
+ *   auxiliar) e tempo; log() acrescenta essas medidas a um arquivo, uma linha por execução.
+ * - RADIX é LSD em bytes sobre as partes inteiras (aaaammdd, preço como chave de bits etc.);
+ *   não compara elementos e não aceita partes de texto.
+ * - PARALLEL_MERGE divide em fork-join até blocos de 8192 e intercala na volta.
+ * - main() mede todos os algoritmos: java GameSort [games.csv] [arquivo.log].
+ */
+public final class GameSort {
+    public enum Algorithm { INSERTION, HEAP, QUICK, MERGE, RADIX, PARALLEL_MERGE }
+
+    private static final int PARALLEL_LEAF = 1 << 13;
+
+    private GameSort() {}
+
+    // -------------------- Chaves --------------------
+    /** Chave composta; compara as partes na ordem em que foram adicionadas. */
+    public static final class Key<T> implements Comparator<T> {
+        private final List<Part<T>> parts;
+        private final String label;
+
+        private Key(List<Part<T>> parts, String label) {
+            this.parts = parts;
+            this.label = label;
+        }
+
+        public static <T> Key<T> by(ToIntFunction<T> key) { return new Key<T>(new ArrayList<>(), "").thenBy(key); }
+        public static <T> Key<T> byString(Function<T, String> key) { return new Key<T>(new ArrayList<>(), "").thenByString(key); }
+
+        public Key<T> thenBy(ToIntFunction<T> key) { return with(new Part<>(key, null, false), "int"); }
+        public Key<T> thenByString(Function<T, String> key) { return with(new Part<>(null, key, false), "texto"); }
+
+        /** Inverte a última parte adicionada. */
+        public Key<T> descending() {
+            List<Part<T>> ps = new ArrayList<>(parts);
+            Part<T> last = ps.remove(ps.size() - 1);
+            ps.add(new Part<>(last.ints, last.strings, !last.desc));
+            return new Key<>(ps, label + (last.desc ? "" : " desc"));
+        }
+
+        /** Nome usado no log (ex.: "data+nome"). */
+        public Key<T> named(String name) { return new Key<>(parts, name); }
+
+        private Key<T> with(Part<T> p, String kind) {
+            List<Part<T>> ps = new ArrayList<>(parts);
+            ps.add(p);
+            return new Key<>(ps, label.isEmpty() ? kind : label + "+" + kind);
+        }
+
+        boolean intOnly() {
+            for (Part<T> p : parts) if (p.ints == null) return false;
+            return true;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            for (Part<T> p : parts) {
+                int c;
+                if (p.ints != null) c = Integer.compare(p.ints.applyAsInt(a), p.ints.applyAsInt(b));
+                else c = compareNullable(p.strings.apply(a), p.strings.apply(b));
+                if (c != 0) return p.desc ? -c : c;
+            }
+            return 0;
+        }
+
+        private static int compareNullable(String a, String b) {
+            if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+            return a.compareTo(b);
+        }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private static final class Part<T> {
+        final ToIntFunction<T> ints;
+        final Function<T, String> strings;
+        final boolean desc;
+
+        Part(ToIntFunction<T> ints, Function<T, String> strings, boolean desc) {
+            this.ints = ints;
+            this.strings = strings;
+            this.desc = desc;
+        }
+    }
+
+    // Chaves prontas
+    public static final Key<Game> BY_RELEASE_THEN_NAME =
+            Key.by(Game::getReleaseDateKey).thenByString(Game::getName).thenBy(Game::getId).named("data+nome");
+    public static final Key<Game> BY_PRICE_DESC =
+            Key.<Game>by(g -> GameTable.floatKey(g.getPrice())).descending().thenBy(Game::getId).named("preço desc");
+    public static final Key<Game> BY_OWNERS_DESC =
+            Key.by(Game::getEstimatedOwners).descending().thenBy(Game::getId).named("donos desc");
+    public static final Key<TP04Q01.Game> TP_BY_RELEASE_THEN_NAME =
+            Key.<TP04Q01.Game>by(g -> TP04Q01.Snapshot.packDate(g.releaseDate)).thenByString(g -> g.name)
+               .thenBy(g -> g.id).named("data+nome");
+
+    // -------------------- Medidas --------------------
+    /** Resultado de uma execução. */
+    public static final class Stats {
+        public final Algorithm algorithm;
+        public final String key;
+        public final int n;
+        public final long comparisons, moves, nanos;
+
+        Stats(Algorithm algorithm, String key, int n, long comparisons, long moves, long nanos) {
+            this.algorithm = algorithm;
+            this.key = key;
+            this.n = n;
+            this.comparisons = comparisons;
+            this.moves = moves;
+            this.nanos = nanos;
+        }
+
+        /** algoritmo, chave, n, comparações, movimentações e tempo em ms, separados por tab. */
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s\t%s\t%d\t%d\t%d\t%.3f", algorithm, key, n, comparisons, moves, nanos / 1e6);
+        }
+    }
+
+    /** Acrescenta a linha de s ao arquivo de log (criado se não existir). */
+    public static void log(String path, Stats s) throws IOException {
+        Files.write(Paths.get(path), (s + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Contadores de uma execução (uma instância por tarefa no paralelo)
+    private static final class Counter<T> {
+        final Comparator<T> cmp;
+        long comparisons, moves;
+
+        Counter(Comparator<T> cmp) { this.cmp = cmp; }
+
+        int compare(T a, T b) {
+            comparisons++;
+            return cmp.compare(a, b);
+        }
+
+        void set(T[] a, int i, T v) {
+            moves++;
+            a[i] = v;
+        }
+
+        void swap(T[] a, int i, int j) {
+            T t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+            moves += 3;
+        }
+    }
+
+    // -------------------- Ordenação --------------------
+    public static <T> Stats sort(T[] a, Key<T> key, Algorithm alg) {
+        Counter<T> c = new Counter<>(key);
+        long t0 = System.nanoTime();
+        switch (alg) {
+            case INSERTION: insertion(a, 0, a.length, c); break;
+            case HEAP: heap(a, c); break;
+            case QUICK: quick(a, 0, a.length - 1, c); break;
+            case MERGE: merge(a, a.clone(), 0, a.length, c); break;
+            case RADIX: radix(a, key, c); break;
+            default: ForkJoinPool.commonPool().invoke(new MergeTask<>(a, a.clone(), 0, a.length, c)); break;
+        }
+        return new Stats(alg, key.toString(), a.length, c.comparisons, c.moves, System.nanoTime() - t0);
+    }
+
+    public static <T> Stats sort(T[] a, Key<T> key, Algorithm alg, String logPath) throws IOException {
+        Stats s = sort(a, key, alg);
+        log(logPath, s);
+        return s;
+    }
+
+    private static <T> void insertion(T[] a, int from, int to, Counter<T> c) {
+        for (int i = from + 1; i < to; i++) {
+            T x = a[i];
+            int j = i - 1;
+            while (j >= from && c.compare(a[j], x) > 0) {
+                c.set(a, j + 1, a[j]);
+                j--;
+            }
+            if (j + 1 != i) c.set(a, j + 1, x);
+        }
+    }
+
+    private static <T> void heap(T[] a, Counter<T> c) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, i, n, c);
+        for (int end = n - 1; end > 0; end--) {
+            c.swap(a, 0, end);
+            siftDown(a, 0, end, c);
+        }
+    }
+
+    private static <T> void siftDown(T[] a, int i, int n, Counter<T> c) {
+        T x = a[i];
+        int start = i;
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && c.compare(a[child + 1], a[child]) > 0) child++;
+            if (c.compare(a[child], x) <= 0) break;
+            c.set(a, i, a[child]);
+            i = child;
+        }
+        if (i != start) c.set(a, i, x);
+    }
+
+    // Quicksort com pivô pela mediana de três; recursão só no lado menor
+    private static <T> void quick(T[] a, int lo, int hi, Counter<T> c) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], a[lo]) < 0) c.swap(a, mid, lo);
+            if (c.compare(a[hi], a[lo]) < 0) c.swap(a, hi, lo);
+            if (c.compare(a[hi], a[mid]) < 0) c.swap(a, hi, mid);
+            T pivot = a[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (c.compare(a[i], pivot) < 0) i++;
+                while (c.compare(a[j], pivot) > 0) j--;
+                if (i <= j) c.swap(a, i++, j--);
+            }
+            if (j - lo < hi - i) {
+                quick(a, lo, j, c);
+                lo = i;
+            } else {
+                quick(a, i, hi, c);
+                hi = j;
+            }
+        }
+        insertion(a, lo, hi + 1, c);
+    }
+
+    // Ordena a[from, to) usando aux como área de intercalação
+    private static <T> void merge(T[] a, T[] aux, int from, int to, Counter<T> c) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        merge(a, aux, from, mid, c);
+        merge(a, aux, mid, to, c);
+        mergeHalves(a, aux, from, mid, to, c);
+    }
+
+    private static <T> void mergeHalves(T[] a, T[] aux, int from, int mid, int to, Counter<T> c) {
+        if (c.compare(a[mid - 1], a[mid]) <= 0) return;        // já em ordem
+        for (int k = from; k < to; k++) c.set(aux, k, a[k]);
+        int i = from, j = mid;
+        for (int k = from; k < to; k++) {
+            if (i == mid) c.set(a, k, aux[j++]);
+            else if (j == to) c.set(a, k, aux[i++]);
+            else if (c.compare(aux[j], aux[i]) < 0) c.set(a, k, aux[j++]);
+            else c.set(a, k, aux[i++]);
+        }
+    }
+
+    private static final class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] a, aux;
+        private final int from, to;
+        private final Counter<T> total;
+
+        MergeTask(T[] a, T[] aux, int from, int to, Counter<T> total) {
+            this.a = a;
+            this.aux = aux;
+            this.from = from;
+            this.to = to;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_LEAF) {
+                merge(a, aux, from, to, total);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Counter<T> left = new Counter<>(total.cmp), right = new Counter<>(total.cmp);
+            invokeAll(new MergeTask<>(a, aux, from, mid, left), new MergeTask<>(a, aux, mid, to, right));
+            total.comparisons += left.comparisons + right.comparisons;
+            total.moves += left.moves + right.moves;
+            mergeHalves(a, aux, from, mid, to, total);
+        }
+    }
+
+    // LSD em bytes, da última parte para a primeira; cada passada é estável
+    private static <T> void radix(T[] a, Key<T> key, Counter<T> c) {
+        if (!key.intOnly()) throw new IllegalArgumentException("RADIX só ordena chaves inteiras: " + key);
+        int n = a.length;
+        if (n < 2) return;
+        int[] keys = new int[n], keysAux = new int[n];
+        T[] src = a, dst = a.clone();
+        for (int p = key.parts.size() - 1; p >= 0; p--) {
+            Part<T> part = key.parts.get(p);
+            for (int i = 0; i < n; i++) {
+                int k = part.ints.applyAsInt(src[i]) ^ Integer.MIN_VALUE;   // com sinal -> sem sinal
+                keys[i] = part.desc ? ~k : k;
+            }
+            for (int shift = 0; shift < 32; shift += 8) {
+                int[] count = new int[257];
+                for (int i = 0; i < n; i++) count[((keys[i] >>> shift) & 0xFF) + 1]++;
+                if (count[((keys[0] >>> shift) & 0xFF) + 1] == n) continue;   // byte igual em todos
+                for (int b = 0; b < 256; b++) count[b + 1] += count[b];
+                for (int i = 0; i < n; i++) {
+                    int at = count[(keys[i] >>> shift) & 0xFF]++;
+                    c.set(dst, at, src[i]);
+                    keysAux[at] = keys[i];
+                }
+                T[] t = src;                                                // troca origem e destino
+                src = dst;
+                dst = t;
+                int[] kt = keys;
+                keys = keysAux;
+                keysAux = kt;
+            }
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            c.moves += n;
+        }
+    }
+
+    // -------------------- Benchmark --------------------
+    static <T> boolean isSorted(T[] a, Comparator<T> cmp) {
+        for (int i = 1; i < a.length; i++) if (cmp.compare(a[i - 1], a[i]) > 0) return false;
+        return true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "/tmp/games.csv";
+        String logPath = args.length > 1 ? args[1] : "ordenacao.log";
+        GameTable t = GameTable.load(path);
+        Game[] games = new Game[t.size()];
+        for (int r = 0; r < games.length; r++) games[r] = t.toGame(r);
+
+        Map<String, Game[]> inputs = new LinkedHashMap<>();
+        inputs.put("csv", games);
+        Game[] sorted = games.clone();
+        Arrays.sort(sorted, BY_RELEASE_THEN_NAME);
+        inputs.put("ordenado", sorted);
+        Game[] reversed = sorted.clone();
+        Collections.reverse(Arrays.asList(reversed));
+        inputs.put("invertido", reversed);
+
+        List<Key<Game>> keys = Arrays.asList(BY_RELEASE_THEN_NAME, BY_PRICE_DESC, BY_OWNERS_DESC);
+        for (Map.Entry<String, Game[]> in : inputs.entrySet()) {
+            for (Key<Game> key : keys) {
+                for (Algorithm alg : Algorithm.values()) {
+                    if (alg == Algorithm.RADIX && !key.intOnly()) continue;
+                    if (alg == Algorithm.INSERTION && games.length > 50_000) continue;  // O(n²)
+                    Game[] a = in.getValue().clone();
+                    Stats s = sort(a, key, alg, logPath);
+                    System.out.println(in.getKey() + "\t" + s + (isSorted(a, key) ? "" : "\tFORA DE ORDEM"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Catálogo inteiro em colunas (struct-of-arrays): um vetor primitivo por campo de Game.
+ *
+ * Observações:
+ * - Cada linha é um índice 0..size()-1; não existe um objeto por jogo.
+ * - As listas ficam em pares (offsets, códigos): os códigos da linha r no campo f estão em
+ *   codes(f)[offsets(f)[r] .. offsets(f)[r + 1]), todos do ValueDictionary.
+ * - Varreduras como "price < 5 e metacriticScore > 80" viram laços sobre vetores contíguos:
+ *   t.select(r -> t.price(r) < 5 && t.metacriticScore(r) > 80).
+ * - Row é uma visão leve (flyweight) de uma linha, com os mesmos getters de Game.
+ */
+public final class GameTable {
+    private static final int LISTS = Game.ListField.values().length;
+
+    private int rows;
+    private int[] ids;
+    private String[] names;
+    private int[] releaseDates;                         // aaaammdd, como Game.getReleaseDateKey()
+    private final Map<Integer, String> dateTexts = new HashMap<>(); // linha -> texto, só nos casos raros
+    private int[] owners;
+    private float[] prices;
+    private int[] metacritic;
+    private float[] userScores;
+    private int[] achievements;
+    private final int[][] listOffsets = new int[LISTS][];
+    private final int[][] listCodes = new int[LISTS][];
+    private final int[] listLength = new int[LISTS];
+
+    private GameTable(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new int[capacity];
+        names = new String[capacity];
+        releaseDates = new int[capacity];
+        owners = new int[capacity];
+        prices = new float[capacity];
+        metacritic = new int[capacity];
+        userScores = new float[capacity];
+        achievements = new int[capacity];
+        for (int f = 0; f < LISTS; f++) {
+            listOffsets[f] = new int[capacity + 1];
+            listCodes[f] = new int[capacity * 2];
+        }
+    }
+
+    // -------------------- Construção --------------------
+    public static GameTable of(Iterable<Game> games) {
+        GameTable t = new GameTable(games instanceof Collection ? ((Collection<Game>) games).size() : 1024);
+        for (Game g : games) t.add(g);
+        return t;
+    }
+
+    /** Tabela vazia, preenchida depois com add. */
+    static GameTable create(int capacity) { return new GameTable(capacity); }
+
+    /**
+     * Lê um CSV com cabeçalho (os aliases de Game.RowSchema valem aqui). Os campos são
+     * separados por vírgulas fora de aspas simples/duplas, um registro por linha; as aspas
+     * duplas em volta de um campo são removidas.
+     *
+     * Observações:
+     * - Donos estimados e data seguem o TP04Q01, não Game.fromCSV: da faixa "20,000 - 50,000"
+     *   vale o menor valor (0 se não couber em int) e o que não é data vira 01/01/1970.
+     * - O cabeçalho "Estimated owners" do dataset vale como estimatedOwners.
+     * - TP04Q01 --check-table confere, linha a linha, que a tabela bate com o que ele imprime.
+     */
+    public static GameTable load(String csvPath) throws IOException {
+        GameTable t = new GameTable(1024);
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(csvPath), StandardCharsets.UTF_8)) {
+            String line = br.readLine();
+            if (line == null) return t;
+            String[] header = splitLine(line);
+            boolean[] owners = new boolean[header.length], dates = new boolean[header.length];
+            for (int i = 0; i < header.length; i++) {
+                owners[i] = OWNERS_HEADERS.contains(header[i]);
+                dates[i] = DATE_HEADERS.contains(header[i]);
+                if (header[i].equals("Estimated owners")) header[i] = "estimatedOwners";
+            }
+            Game.RowSchema schema = new Game.RowSchema(header);
+            while ((line = br.readLine()) != null) {
+                String[] fields = splitLine(line);
+                if (fields.length < header.length) fields = Arrays.copyOf(fields, header.length); // faltantes: null
+                for (int i = 0; i < header.length; i++) {
+                    String f = fields[i] == null ? "" : fields[i];
+                    if (owners[i]) fields[i] = Integer.toString(lowerOwners(f));
+                    else if (dates[i] && Game.parseDate(f, NOT_A_DATE) == NOT_A_DATE) fields[i] = "01/01/1970";
+                }
+                t.add(Game.fromCSV(fields, schema));
+            }
+        }
+        return t;
+    }
+
+    // Colunas que load normaliza como o TP04Q01 (os aliases de Game para esses campos)
+    private static final Set<String> OWNERS_HEADERS =
+        new HashSet<>(Arrays.asList("estimatedOwners", "estimated_owners", "owners", "Estimated owners"));
+    private static final Set<String> DATE_HEADERS =
+        new HashSet<>(Arrays.asList("releaseDate", "release_date", "Release date"));
+    private static final long NOT_A_DATE = Long.MIN_VALUE;
+
+    // Primeira sequência de dígitos, ignorando vírgulas; 0 se não houver ou não couber em int
+    private static int lowerOwners(String s) {
+        int i = 0, n = s.length();
+        while (i < n && (s.charAt(i) < '0' || s.charAt(i) > '9')) i++;
+        long v = 0;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == ',') continue;
+            if (c < '0' || c > '9') break;
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE) return 0;
+        }
+        return (int) v;
+    }
+
+    static String[] splitLine(String s) {
+        List<String> cols = new ArrayList<>();
+        boolean inSingle = false, inDouble = false;
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\'' && !inDouble) inSingle = !inSingle;
+            else if (c == '"' && !inSingle) inDouble = !inDouble;
+            else if (c == ',' && !inSingle && !inDouble) {
+                cols.add(unquote(s.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        cols.add(unquote(s.substring(start)));
+        return cols.toArray(new String[0]);
+    }
+
+    // Campo sem espaços nas pontas e sem as aspas duplas do CSV em volta
+    private static String unquote(String f) {
+        f = f.trim();
+        if (f.length() >= 2 && f.charAt(0) == '"' && f.charAt(f.length() - 1) == '"') f = f.substring(1, f.length() - 1).trim();
+        return f;
+    }
+
+    public void add(Game g) {
+        if (rows == ids.length) grow();
+        int r = rows++;
+        ids[r] = g.getId();
+        names[r] = g.getName();
+        releaseDates[r] = g.getReleaseDateKey();
+        if (g.releaseDateText() != null) dateTexts.put(r, g.releaseDateText());
+        owners[r] = g.getEstimatedOwners();
+        prices[r] = g.getPrice();
+        metacritic[r] = g.getMetacriticScore();
+        userScores[r] = g.getUserScore();
+        achievements[r] = g.getAchievements();
+        for (Game.ListField f : Game.ListField.values()) {
+            int k = f.ordinal();
+            int[] cs = g.codes(f);
+            if (listLength[k] + cs.length > listCodes[k].length)
+                listCodes[k] = Arrays.copyOf(listCodes[k], Math.max(listCodes[k].length * 2, listLength[k] + cs.length));
+            System.arraycopy(cs, 0, listCodes[k], listLength[k], cs.length);
+            listLength[k] += cs.length;
+            listOffsets[k][r + 1] = listLength[k];
+        }
+    }
+
+    // Linha já normalizada por outro leitor (o TP04Q01, que não enxerga esta Game pelo nome)
+    void add(int id, String name, String releaseDate, int estimatedOwners, float price,
+             String[] supportedLanguages, int metacriticScore, float userScore, int achievements,
+             String[] publishers, String[] developers, String[] categories, String[] genres, String[] tags) {
+        add(new Game(id, name, releaseDate, estimatedOwners, price, supportedLanguages, metacriticScore,
+                     userScore, achievements, publishers, developers, categories, genres, tags));
+    }
+
+    private void grow() {
+        int cap = ids.length * 2;
+        ids = Arrays.copyOf(ids, cap);
+        names = Arrays.copyOf(names, cap);
+        releaseDates = Arrays.copyOf(releaseDates, cap);
+        owners = Arrays.copyOf(owners, cap);
+        prices = Arrays.copyOf(prices, cap);
+        metacritic = Arrays.copyOf(metacritic, cap);
+        userScores = Arrays.copyOf(userScores, cap);
+        achievements = Arrays.copyOf(achievements, cap);
+        for (int f = 0; f < LISTS; f++) listOffsets[f] = Arrays.copyOf(listOffsets[f], cap + 1);
+    }
+
+    // -------------------- Colunas --------------------
+    public int size() { return rows; }
+    public int id(int r) { return ids[r]; }
+    public String name(int r) { return names[r]; }
+    public int releaseDateKey(int r) { return releaseDates[r]; }
+    public String releaseDate(int r) {
+        return Game.releaseDateOf(releaseDates[r], dateTexts.isEmpty() ? null : dateTexts.get(r));
+    }
+    public int estimatedOwners(int r) { return owners[r]; }
+    public float price(int r) { return prices[r]; }
+    public int metacriticScore(int r) { return metacritic[r]; }
+    public float userScore(int r) { return userScores[r]; }
+    public int achievements(int r) { return achievements[r]; }
+
+    public int listSize(Game.ListField f, int r) {
+        int[] off = listOffsets[f.ordinal()];
+        return off[r + 1] - off[r];
+    }
+
+    public String listValue(Game.ListField f, int r, int i) {
+        return ValueDictionary.value(listCodes[f.ordinal()][listOffsets[f.ordinal()][r] + i]);
+    }
+
+    public String[] list(Game.ListField f, int r) {
+        int[] off = listOffsets[f.ordinal()];
+        return ValueDictionary.decode(Arrays.copyOfRange(listCodes[f.ordinal()], off[r], off[r + 1]));
+    }
+
+    public boolean listHasCode(Game.ListField f, int r, int code) {
+        int[] off = listOffsets[f.ordinal()], cs = listCodes[f.ordinal()];
+        for (int i = off[r]; i < off[r + 1]; i++) if (cs[i] == code) return true;
+        return false;
+    }
+
+    // -------------------- Colunas numéricas --------------------
+    /** Colunas numéricas; key() as leva a int com a mesma ordem do valor original. */
+    public enum Column {
+        PRICE(true), METACRITIC_SCORE(false), USER_SCORE(true), ESTIMATED_OWNERS(false),
+        ACHIEVEMENTS(false), RELEASE_DATE(false);
+
+        final boolean isFloat;
+
+        Column(boolean isFloat) { this.isFloat = isFloat; }
+
+        /** Valor da chave como número (a data continua aaaammdd). */
+        public double value(int key) { return isFloat ? keyToFloat(key) : key; }
+
+        /** Menor chave cujo valor é >= v. */
+        public int lowerKey(double v) {
+            if (isFloat) {
+                float f = (float) v;
+                return floatKey(f < v ? Math.nextUp(f) : f);
+            }
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.ceil(v)));
+        }
+
+        /** Maior chave cujo valor é <= v. */
+        public int upperKey(double v) {
+            if (isFloat) {
+                float f = (float) v;
+                return floatKey(f > v ? Math.nextDown(f) : f);
+            }
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.floor(v)));
+        }
+    }
+
+    public int key(Column c, int r) {
+        switch (c) {
+            case PRICE: return floatKey(prices[r]);
+            case METACRITIC_SCORE: return metacritic[r];
+            case USER_SCORE: return floatKey(userScores[r]);
+            case ESTIMATED_OWNERS: return owners[r];
+            case ACHIEVEMENTS: return achievements[r];
+            default: return releaseDates[r];
+        }
+    }
+
+    // Ordem dos ints = ordem de Float.compare (negativos têm os 31 bits baixos invertidos)
+    static int floatKey(float f) {
+        if (f == 0) f = 0f;                                   // -0.0 e 0.0 são o mesmo preço
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    static float keyToFloat(int key) { return Float.intBitsToFloat(key ^ ((key >> 31) & 0x7fffffff)); }
+
+    // Vetores internos, sem cópia, para os índices do pacote (não modificar)
+    int[] offsets(Game.ListField f) { return listOffsets[f.ordinal()]; }
+    int[] codes(Game.ListField f) { return listCodes[f.ordinal()]; }
+
+    // -------------------- Varredura --------------------
+    /** Linhas (em ordem crescente) que satisfazem o filtro. */
+    public int[] select(IntPredicate filter) {
+        int[] out = new int[16];
+        int n = 0;
+        for (int r = 0; r < rows; r++) {
+            if (!filter.test(r)) continue;
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = r;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    public Row row(int r) { return new Row().at(r); }
+
+    public Game toGame(int r) {
+        String[][] l = new String[LISTS][];
+        for (Game.ListField f : Game.ListField.values()) l[f.ordinal()] = list(f, r);
+        return new Game(ids[r], names[r], releaseDate(r), owners[r], prices[r], l[0], metacritic[r],
+                        userScores[r], achievements[r], l[1], l[2], l[3], l[4], l[5]);
+    }
+
+    /** Visão de uma linha; at(r) reposiciona o mesmo objeto, sem alocar. */
+    public final class Row {
+        private int r;
+
+        public Row at(int row) {
+            if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Linha " + row);
+            this.r = row;
+            return this;
+        }
+
+        public int getRow() { return r; }
+        public int getId() { return ids[r]; }
+        public String getName() { return names[r]; }
+        public String getReleaseDate() { return releaseDate(r); }
+        public int getReleaseDateKey() { return releaseDates[r]; }
+        public int getEstimatedOwners() { return owners[r]; }
+        public float getPrice() { return prices[r]; }
+        public String[] getSupportedLanguages() { return list(Game.ListField.SUPPORTED_LANGUAGES, r); }
+        public int getMetacriticScore() { return metacritic[r]; }
+        public float getUserScore() { return userScores[r]; }
+        public int getAchievements() { return achievements[r]; }
+        public String[] getPublishers() { return list(Game.ListField.PUBLISHERS, r); }
+        public String[] getDevelopers() { return list(Game.ListField.DEVELOPERS, r); }
+        public String[] getCategories() { return list(Game.ListField.CATEGORIES, r); }
+        public String[] getGenres() { return list(Game.ListField.GENRES, r); }
+        public String[] getTags() { return list(Game.ListField.TAGS, r); }
+        public Game toGame() { return GameTable.this.toGame(r); }
+    }
+}
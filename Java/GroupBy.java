@@ -0,0 +1,367 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Agregações por grupo sobre a GameTable: count, sum, min, max, avg e percentis de uma ou
+ * mais colunas numéricas, agrupando por campo escalar ou por lista.
+ *
+ * Observações:
+ * - Agrupar por lista (ex.: gêneros) conta o jogo em cada valor da lista, uma vez por valor.
+ * - Roda em fork-join: cada bloco de 4096 linhas acumula em vetores primitivos próprios e os
+ *   blocos são fundidos dois a dois. A divisão depende só do número de linhas, nunca do de
+ *   threads, então as somas em ponto flutuante saem idênticas com 1 ou N threads.
+ * - Percentis e histogramas guardam os valores do grupo (keepValues = true).
+ * - Ex.: média de preço e userScore por gênero:
+ *   GroupBy.run(t, GroupBy.list(GENRES), false, null, Column.PRICE, Column.USER_SCORE).
+ * - main() imprime alguns relatórios e confere o determinismo: java GroupBy [games.csv].
+ */
+public final class GroupBy {
+    private static final int LEAF = 4096;
+
+    private GroupBy() {}
+
+    // -------------------- Agrupamentos --------------------
+    /** Leva cada linha a zero ou mais grupos (ints). */
+    public interface Grouping {
+        void groups(GameTable t, int row, IntConsumer sink);
+        String label(int group);
+        /** Ordem dos grupos no resultado: pelo rótulo (true) ou pelo número do grupo. */
+        default boolean sortByLabel() { return false; }
+    }
+
+    /** Um grupo por valor da lista (código do ValueDictionary). */
+    public static Grouping list(Game.ListField f) {
+        return new Grouping() {
+            @Override
+            public void groups(GameTable t, int row, IntConsumer sink) {
+                int[] off = t.offsets(f), codes = t.codes(f);
+                for (int i = off[row]; i < off[row + 1]; i++) {
+                    boolean repeated = false;                    // valor repetido na mesma lista
+                    for (int j = off[row]; j < i && !repeated; j++) repeated = codes[j] == codes[i];
+                    if (!repeated) sink.accept(codes[i]);
+                }
+            }
+
+            @Override public String label(int group) { return ValueDictionary.value(group); }
+            @Override public boolean sortByLabel() { return true; }
+        };
+    }
+
+    /** Um grupo por valor (chave) da coluna. */
+    public static Grouping column(GameTable.Column c) {
+        return new Grouping() {
+            @Override
+            public void groups(GameTable t, int row, IntConsumer sink) { sink.accept(t.key(c, row)); }
+
+            @Override
+            public String label(int group) {
+                double v = c.value(group);
+                return v == Math.rint(v) ? Long.toString((long) v) : Double.toString(v);
+            }
+        };
+    }
+
+    /** Ano de lançamento (jogos sem data ficam de fora). */
+    public static Grouping releaseYear() {
+        return new Grouping() {
+            @Override
+            public void groups(GameTable t, int row, IntConsumer sink) {
+                int d = t.releaseDateKey(row);
+                if (d != Integer.MIN_VALUE) sink.accept(d / 10000);
+            }
+
+            @Override public String label(int group) { return Integer.toString(group); }
+        };
+    }
+
+    // -------------------- Resultado --------------------
+    /** Agregados de um grupo; os índices de medida seguem a ordem das colunas pedidas. */
+    public static final class Group {
+        public final int group;
+        public final String label;
+        public final long count;
+        private final GameTable.Column[] measures;
+        private final double[] sum;
+        private final int[] minKey, maxKey;
+        private final int[][] sortedKeys;        // null sem keepValues
+
+        Group(int group, String label, long count, GameTable.Column[] measures, double[] sum,
+              int[] minKey, int[] maxKey, int[][] sortedKeys) {
+            this.group = group;
+            this.label = label;
+            this.count = count;
+            this.measures = measures;
+            this.sum = sum;
+            this.minKey = minKey;
+            this.maxKey = maxKey;
+            this.sortedKeys = sortedKeys;
+        }
+
+        public double sum(int m) { return sum[m]; }
+        public double min(int m) { return measures[m].value(minKey[m]); }
+        public double max(int m) { return measures[m].value(maxKey[m]); }
+        public double avg(int m) { return sum[m] / count; }
+
+        /** Percentil p (0..100), pelo posto mais próximo. */
+        public double percentile(int m, double p) {
+            int[] keys = values(m);
+            int rank = (int) Math.ceil(p / 100 * keys.length);
+            return measures[m].value(keys[Math.max(rank, 1) - 1]);
+        }
+
+        /** counts[i] = valores em [bounds[i], bounds[i + 1]); a última faixa inclui o limite. */
+        public int[] histogram(int m, double... bounds) {
+            int[] keys = values(m);
+            int[] counts = new int[bounds.length - 1];
+            for (int k : keys) {
+                double v = measures[m].value(k);
+                for (int b = 0; b < counts.length; b++) {
+                    if (v >= bounds[b] && (v < bounds[b + 1] || (b == counts.length - 1 && v == bounds[b + 1]))) {
+                        counts[b]++;
+                        break;
+                    }
+                }
+            }
+            return counts;
+        }
+
+        private int[] values(int m) {
+            if (sortedKeys == null) throw new IllegalStateException("Agregação feita sem keepValues");
+            return sortedKeys[m];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(label).append(" n=").append(count);
+            for (int m = 0; m < measures.length; m++) {
+                sb.append(' ').append(measures[m]).append("[sum=").append(sum[m]).append(" min=").append(min(m))
+                  .append(" max=").append(max(m)).append(" avg=").append(avg(m)).append(']');
+            }
+            return sb.toString();
+        }
+    }
+
+    // -------------------- Execução --------------------
+    public static List<Group> run(GameTable t, Grouping g, boolean keepValues, IntPredicate filter,
+                                  GameTable.Column... measures) {
+        return run(t, g, keepValues, filter, ForkJoinPool.commonPool(), measures);
+    }
+
+    public static List<Group> run(GameTable t, Grouping g, boolean keepValues, IntPredicate filter,
+                                  ForkJoinPool pool, GameTable.Column... measures) {
+        IntPredicate f = filter == null ? r -> true : filter;
+        Acc acc = pool.invoke(new Task(t, g, f, measures, keepValues, 0, t.size()));
+        List<Group> out = new ArrayList<>(acc.n);
+        int k = measures.length;
+        for (int s = 0; s < acc.n; s++) {
+            int[][] sorted = null;
+            if (keepValues) {
+                sorted = new int[k][];
+                for (int m = 0; m < k; m++) {
+                    sorted[m] = Arrays.copyOf(acc.values[s * k + m], acc.valueCount[s * k + m]);
+                    Arrays.sort(sorted[m]);
+                }
+            }
+            out.add(new Group(acc.groups[s], g.label(acc.groups[s]), acc.count[s], measures,
+                              Arrays.copyOfRange(acc.sum, s * k, s * k + k),
+                              Arrays.copyOfRange(acc.min, s * k, s * k + k),
+                              Arrays.copyOfRange(acc.max, s * k, s * k + k), sorted));
+        }
+        Comparator<Group> order = g.sortByLabel()
+                ? Comparator.comparing((Group x) -> x.label == null ? "" : x.label).thenComparingInt(x -> x.group)
+                : Comparator.comparingInt(x -> x.group);
+        out.sort(order);
+        return out;
+    }
+
+    private static final class Task extends RecursiveTask<Acc> {
+        private static final long serialVersionUID = 1L;
+
+        private final GameTable t;
+        private final Grouping g;
+        private final IntPredicate filter;
+        private final GameTable.Column[] measures;
+        private final boolean keepValues;
+        private final int from, to;
+
+        Task(GameTable t, Grouping g, IntPredicate filter, GameTable.Column[] measures, boolean keepValues, int from, int to) {
+            this.t = t;
+            this.g = g;
+            this.filter = filter;
+            this.measures = measures;
+            this.keepValues = keepValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Acc compute() {
+            if (to - from <= LEAF) {
+                Acc acc = new Acc(measures.length, keepValues);
+                int[] keys = new int[measures.length];
+                for (int r = from; r < to; r++) {
+                    if (!filter.test(r)) continue;
+                    for (int m = 0; m < measures.length; m++) keys[m] = t.key(measures[m], r);
+                    g.groups(t, r, grp -> acc.add(grp, keys, measures));
+                }
+                return acc;
+            }
+            int blocks = (to - from + LEAF - 1) / LEAF;
+            int mid = from + blocks / 2 * LEAF;                  // corte sempre em múltiplo de LEAF
+            Task left = new Task(t, g, filter, measures, keepValues, from, mid);
+            left.fork();
+            Acc right = new Task(t, g, filter, measures, keepValues, mid, to).compute();
+            Acc l = left.join();
+            l.merge(right, measures);
+            return l;
+        }
+    }
+
+    // Acumuladores de um bloco: grupo -> slot por endereçamento aberto; medidas em
+    // vetores planos (slot * k + medida)
+    private static final class Acc {
+        final int k;
+        final boolean keepValues;
+        int[] table = new int[64];               // slot + 1 (0 = livre)
+        int[] groups = new int[16];
+        long[] count = new long[16];
+        double[] sum;
+        int[] min, max;
+        int[][] values;
+        int[] valueCount;
+        int n;
+
+        Acc(int k, boolean keepValues) {
+            this.k = k;
+            this.keepValues = keepValues;
+            sum = new double[16 * k];
+            min = new int[16 * k];
+            max = new int[16 * k];
+            if (keepValues) {
+                values = new int[16 * k][];
+                valueCount = new int[16 * k];
+            }
+        }
+
+        private int slot(int group) {
+            int mask = table.length - 1;
+            for (int i = (group * 0x9E3779B9 >>> 7) & mask; ; i = (i + 1) & mask) {
+                int s = table[i] - 1;
+                if (s < 0) {
+                    s = newSlot(group);
+                    table[i] = s + 1;
+                    if (n * 2 > table.length) rehash();
+                    return s;
+                }
+                if (groups[s] == group) return s;
+            }
+        }
+
+        private int newSlot(int group) {
+            if (n == groups.length) {
+                int cap = n * 2;
+                groups = Arrays.copyOf(groups, cap);
+                count = Arrays.copyOf(count, cap);
+                sum = Arrays.copyOf(sum, cap * k);
+                min = Arrays.copyOf(min, cap * k);
+                max = Arrays.copyOf(max, cap * k);
+                if (keepValues) {
+                    values = Arrays.copyOf(values, cap * k);
+                    valueCount = Arrays.copyOf(valueCount, cap * k);
+                }
+            }
+            groups[n] = group;
+            Arrays.fill(min, n * k, n * k + k, Integer.MAX_VALUE);
+            Arrays.fill(max, n * k, n * k + k, Integer.MIN_VALUE);
+            return n++;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int s = 0; s < n; s++) {
+                int i = (groups[s] * 0x9E3779B9 >>> 7) & mask;
+                while (table[i] != 0) i = (i + 1) & mask;
+                table[i] = s + 1;
+            }
+        }
+
+        void add(int group, int[] keys, GameTable.Column[] measures) {
+            int s = slot(group);
+            count[s]++;
+            for (int m = 0; m < k; m++) {
+                int at = s * k + m;
+                sum[at] += measures[m].value(keys[m]);
+                if (keys[m] < min[at]) min[at] = keys[m];
+                if (keys[m] > max[at]) max[at] = keys[m];
+                if (keepValues) addValue(at, keys[m]);
+            }
+        }
+
+        private void addValue(int at, int key) {
+            int[] vs = values[at];
+            if (vs == null) vs = values[at] = new int[4];
+            else if (valueCount[at] == vs.length) vs = values[at] = Arrays.copyOf(vs, vs.length * 2);
+            vs[valueCount[at]++] = key;
+        }
+
+        // Soma o bloco seguinte (o da direita) neste
+        void merge(Acc o, GameTable.Column[] measures) {
+            for (int os = 0; os < o.n; os++) {
+                int s = slot(o.groups[os]);
+                count[s] += o.count[os];
+                for (int m = 0; m < k; m++) {
+                    int at = s * k + m, oat = os * k + m;
+                    sum[at] += o.sum[oat];
+                    min[at] = Math.min(min[at], o.min[oat]);
+                    max[at] = Math.max(max[at], o.max[oat]);
+                    if (keepValues) {
+                        for (int i = 0; i < o.valueCount[oat]; i++) addValue(at, o.values[oat][i]);
+                    }
+                }
+            }
+        }
+    }
+
+    // -------------------- Relatórios de exemplo --------------------
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "/tmp/games.csv";
+        GameTable t = GameTable.load(path);
+
+        System.out.println("== preço e userScore médios por gênero ==");
+        // userScore -1 é "tbd": fica fora da média, como o -1 do metacritic abaixo (o preço usa todos)
+        Map<String, Group> rated = new HashMap<>();
+        for (Group x : run(t, list(Game.ListField.GENRES), false, r -> t.userScore(r) >= 0, GameTable.Column.USER_SCORE))
+            rated.put(x.label, x);
+        for (Group x : run(t, list(Game.ListField.GENRES), false, null, GameTable.Column.PRICE)) {
+            Group u = rated.get(x.label);
+            System.out.printf(Locale.ROOT, "%-24s n=%6d preço=%8.2f userScore=%s (n=%d)%n", x.label, x.count, x.avg(0),
+                              u == null ? "     -" : String.format(Locale.ROOT, "%6.2f", u.avg(0)), u == null ? 0 : u.count);
+        }
+
+        System.out.println("== donos estimados por publicadora (10 maiores) ==");
+        List<Group> pubs = new ArrayList<>(run(t, list(Game.ListField.PUBLISHERS), false, null, GameTable.Column.ESTIMATED_OWNERS));
+        pubs.sort(Comparator.comparingDouble((Group x) -> -x.sum(0)).thenComparing(x -> x.label));
+        for (Group x : pubs.subList(0, Math.min(10, pubs.size())))
+            System.out.printf(Locale.ROOT, "%-24s %,.0f%n", x.label, x.sum(0));
+
+        System.out.println("== metacritic por ano (p50, p90, histograma 0-50-70-90-100) ==");
+        IntPredicate scored = r -> t.metacriticScore(r) >= 0;
+        for (Group x : run(t, releaseYear(), true, scored, GameTable.Column.METACRITIC_SCORE))
+            System.out.printf(Locale.ROOT, "%s n=%5d p50=%3.0f p90=%3.0f %s%n", x.label, x.count, x.percentile(0, 50),
+                              x.percentile(0, 90), Arrays.toString(x.histogram(0, 0, 50, 70, 90, 100)));
+
+        String reference = null;
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            String s = run(t, list(Game.ListField.TAGS), false, null, pool,
+                           GameTable.Column.PRICE, GameTable.Column.USER_SCORE).toString()
+                     + run(t, list(Game.ListField.PUBLISHERS), false, null, pool,
+                           GameTable.Column.ESTIMATED_OWNERS).toString();
+            pool.shutdown();
+            if (reference == null) reference = s;
+            System.out.println("threads=" + threads + (s.equals(reference) ? " idêntico" : " DIFERENTE"));
+        }
+    }
+}
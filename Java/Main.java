@@ -1,5 +1,9 @@
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Main {
 
@@ -21,13 +25,29 @@ public class Main {
         }
 
         Integer nextIntOrNull() throws IOException {
-            int c, sgn = 1, x = 0;
+            int c;
 
             // pular espaços
             do {
                 c = read();
                 if (c == -1) return null; // EOF antes de achar dígito
             } while (c <= ' ');
+            return parse(c);
+        }
+
+        // Como nextIntOrNull, sem alocar; EOF aqui é caso truncado
+        int nextInt() throws IOException {
+            int c;
+            do {
+                c = read();
+                if (c == -1) throw new EOFException("Entrada terminou no meio de um caso");
+            } while (c <= ' ');
+            return parse(c);
+        }
+
+        // c: primeiro caractere não branco
+        private int parse(int c) throws IOException {
+            int sgn = 1, x = 0;
 
             // sinal?
             if (c == '-') { sgn = -1; c = read(); }
@@ -42,9 +62,176 @@ public class Main {
         }
     }
 
-    // ---------------------- MergeSort para inversões ----------------------
+    // ------------------------- Escritor rápido -------------------------
+    // Buffer de bytes fixo e reaproveitado: números viram ASCII direto no buffer, que é
+    // esvaziado no destino (FileChannel ou OutputStream) sempre que enche. A memória não
+    // cresce com a saída e quem consome recebe os resultados aos poucos.
+    static final class FastWriter implements Flushable {
+        private final WritableByteChannel channel;   // um dos dois é null
+        private final OutputStream stream;
+        private final byte[] buffer = new byte[1 << 16];
+        private final ByteBuffer view = ByteBuffer.wrap(buffer);
+        private final byte[] digits = new byte[20];
+        private int ptr = 0;
+
+        FastWriter(WritableByteChannel ch) { channel = ch; stream = null; }
+        FastWriter(OutputStream os) { channel = null; stream = os; }
+
+        // Saída padrão como FileChannel
+        static FastWriter stdout() {
+            return new FastWriter(new FileOutputStream(FileDescriptor.out).getChannel());
+        }
+
+        FastWriter print(long v) throws IOException {
+            if (buffer.length - ptr < 21) drain();
+            if (v < 0) buffer[ptr++] = '-';
+            long q = v < 0 ? v : -v;                    // negativo: cabe Long.MIN_VALUE
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' - q % 10);
+                q /= 10;
+            } while (q != 0);
+            System.arraycopy(digits, i, buffer, ptr, digits.length - i);
+            ptr += digits.length - i;
+            return this;
+        }
+
+        FastWriter println(long v) throws IOException {
+            print(v);
+            return newLine();
+        }
+
+        FastWriter newLine() throws IOException {
+            if (ptr == buffer.length) drain();
+            buffer[ptr++] = '\n';
+            return this;
+        }
+
+        // Manda o buffer para o destino e recomeça do início
+        private void drain() throws IOException {
+            if (channel != null) {
+                view.clear().limit(ptr);
+                while (view.hasRemaining()) channel.write(view);
+            } else {
+                stream.write(buffer, 0, ptr);
+            }
+            ptr = 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            if (stream != null) stream.flush();
+        }
+    }
+
+    // ------------------- Contagem adaptativa de inversões -------------------
+    // Escolhe a estratégia pelo tamanho e por uma amostra da entrada (ver --bench-inversions):
+    // - n pequeno: inserção, sem alocar nada;
+    // - quase ordenado: merge sort, que pula os trechos já em ordem e fica perto de O(n);
+    // - valores em 0..n-1 (sempre, no main): BIT, sem buffer nem movimentação de dados;
+    //   acima de BIT_MAX, BIT em blocos, que mantém as árvores acessadas pequenas.
+    // - caso contrário: merge sort.
+    // O vetor pode ser reordenado (merge e inserção) ou ficar intacto (BIT).
+    static final int INSERTION_MAX = 32;
+    static final int BIT_MAX = 1 << 21;
+    static final int TILE_BITS = 8;               // 256 valores por bloco (1 KiB de árvore)
+    static final int PROBE = 1024;                // pares vizinhos amostrados
+
+    enum Strategy { INSERTION, MERGE, BIT, BLOCKED_BIT }
+
     static long countInversions(int[] a) {
-        int n = a.length;
+        return countInversions(a, a.length);
+    }
+
+    // Inversões de a[0, n): o vetor pode ser maior que o caso (buffers reaproveitados)
+    static long countInversions(int[] a, int n) {
+        return countInversions(a, n, choose(a, n));
+    }
+
+    static long countInversions(int[] a, Strategy s) {
+        return countInversions(a, a.length, s);
+    }
+
+    static long countInversions(int[] a, int n, Strategy s) {
+        switch (s) {
+            case INSERTION: return countInversionsInsertion(a, n);
+            case BIT: return countInversionsBIT(a, n);
+            case BLOCKED_BIT: return countInversionsBlockedBIT(a, n);
+            default: return countInversionsMerge(a, n);
+        }
+    }
+
+    static Strategy choose(int[] a) {
+        return choose(a, a.length);
+    }
+
+    static Strategy choose(int[] a, int n) {
+        if (n <= INSERTION_MAX) return Strategy.INSERTION;
+        int step = Math.max(1, (n - 1) / PROBE), probes = 0, descents = 0;
+        for (int i = 0; i + 1 < n; i += step) {
+            probes++;
+            if (a[i] > a[i + 1]) descents++;
+        }
+        if (descents * 64 < probes) return Strategy.MERGE;              // < ~1,5% de descidas
+        for (int i = 0; i < n; i++) {
+            if (a[i] < 0 || a[i] >= n) return Strategy.MERGE;           // fora de 0..n-1
+        }
+        return n <= BIT_MAX ? Strategy.BIT : Strategy.BLOCKED_BIT;
+    }
+
+    static long countInversionsInsertion(int[] a, int n) {
+        long inv = 0;
+        for (int i = 1; i < n; i++) {
+            int x = a[i], j = i - 1;
+            while (j >= 0 && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+            inv += i - 1 - j;
+        }
+        return inv;
+    }
+
+    // Para cada a[i], quantos anteriores são maiores: i - (anteriores <= a[i]).
+    // Exige valores em 0..n-1 (repetidos são aceitos).
+    static long countInversionsBIT(int[] a, int n) {
+        int[] tree = new int[n + 1];
+        long inv = 0;
+        for (int i = 0; i < n; i++) {
+            int le = 0;
+            for (int k = a[i] + 1; k > 0; k -= k & -k) le += tree[k];
+            inv += i - le;
+            for (int k = a[i] + 1; k <= n; k += k & -k) tree[k]++;
+        }
+        return inv;
+    }
+
+    // v = bloco * 2^TILE_BITS + resto. Par invertido com blocos diferentes: conta na BIT dos
+    // blocos (pequena); com o mesmo bloco: conta na BIT do resto daquele bloco. Cada
+    // atualização/consulta percorre uma árvore de 2^TILE_BITS posições contíguas em vez de uma
+    // árvore de n posições espalhada pela memória.
+    static long countInversionsBlockedBIT(int[] a, int n) {
+        int tile = 1 << TILE_BITS, mask = tile - 1;
+        int tiles = (n + mask) >>> TILE_BITS;
+        int[] outer = new int[tiles + 1];
+        int[] inner = new int[tiles * (tile + 1)];  // árvore do bloco b começa em b * (tile + 1)
+        long inv = 0;
+        for (int i = 0; i < n; i++) {
+            int b = a[i] >>> TILE_BITS, lo = a[i] & mask, base = b * (tile + 1);
+            int le = 0;                               // anteriores com bloco < b, ou mesmo bloco e resto <= lo
+            for (int k = b; k > 0; k -= k & -k) le += outer[k];
+            for (int k = lo + 1; k > 0; k -= k & -k) le += inner[base + k];
+            inv += i - le;
+            for (int k = b + 1; k <= tiles; k += k & -k) outer[k]++;
+            for (int k = lo + 1; k <= tile; k += k & -k) inner[base + k]++;
+        }
+        return inv;
+    }
+
+    // ---------------------- MergeSort para inversões ----------------------
+    static long countInversionsMerge(int[] a, int n) {
         int[] aux = new int[n];
         return mergeSortCount(a, aux, 0, n - 1);
     }
@@ -74,11 +261,541 @@ public class Main {
         return inv;
     }
 
+    // ------------------ Contagem paralela (fork-join) ------------------
+    // Abaixo do limiar cada subtarefa roda o mergeSortCount sequencial. Acima dele as metades
+    // são ordenadas em paralelo e intercaladas também em paralelo: a maior das duas sequências
+    // é cortada na mediana x e a outra na posição de x (busca binária), o que dá dois merges
+    // independentes. Entre os pedaços cruzados, todo par forma inversão (ou nenhum), então a
+    // contagem continua exata.
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    static long countInversionsParallel(int[] a, ForkJoinPool pool) {
+        int n = a.length;
+        if (n < 2) return 0;
+        int[] aux = new int[n];
+        return pool.invoke(new InversionTask(a, aux, 0, n - 1));
+    }
+
+    static final class InversionTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a, aux;
+        private final int l, r;
+
+        InversionTask(int[] a, int[] aux, int l, int r) {
+            this.a = a;
+            this.aux = aux;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Long compute() {
+            if (r - l + 1 <= PARALLEL_THRESHOLD) return mergeSortCount(a, aux, l, r);
+            int m = (l + r) >>> 1;
+            InversionTask left = new InversionTask(a, aux, l, m);
+            left.fork();
+            long inv = new InversionTask(a, aux, m + 1, r).compute() + left.join();
+            if (a[m] <= a[m + 1]) return inv;
+            inv += new MergeTask(a, aux, l, m + 1, m + 1, r + 1, l).compute();
+            new CopyTask(aux, a, l, r + 1).compute();
+            return inv;
+        }
+    }
+
+    // Intercala a[l1, r1) e a[l2, r2) (ordenados) em aux a partir de k; devolve os pares
+    // (i, j) com a[i] > a[j], i no primeiro trecho e j no segundo
+    static final class MergeTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a, aux;
+        private final int l1, r1, l2, r2, k;
+
+        MergeTask(int[] a, int[] aux, int l1, int r1, int l2, int r2, int k) {
+            this.a = a;
+            this.aux = aux;
+            this.l1 = l1;
+            this.r1 = r1;
+            this.l2 = l2;
+            this.r2 = r2;
+            this.k = k;
+        }
+
+        @Override
+        protected Long compute() {
+            int n1 = r1 - l1, n2 = r2 - l2;
+            if (n1 + n2 <= PARALLEL_THRESHOLD || n1 == 0 || n2 == 0) return mergeCount(a, aux, l1, r1, l2, r2, k);
+            int m1, m2;
+            long cross;
+            if (n1 >= n2) {            // x = mediana da esquerda; direita: < x | >= x
+                m1 = (l1 + r1) >>> 1;
+                m2 = lowerBound(a, l2, r2, a[m1]);
+                cross = (long) (r1 - m1) * (m2 - l2);
+            } else {                   // y = mediana da direita; esquerda: <= y | > y
+                m2 = (l2 + r2) >>> 1;
+                m1 = upperBound(a, l1, r1, a[m2]);
+                cross = (long) (r1 - m1) * (m2 - l2);
+            }
+            MergeTask low = new MergeTask(a, aux, l1, m1, l2, m2, k);
+            low.fork();
+            long high = new MergeTask(a, aux, m1, r1, m2, r2, k + (m1 - l1) + (m2 - l2)).compute();
+            return cross + high + low.join();
+        }
+    }
+
+    static long mergeCount(int[] a, int[] aux, int l1, int r1, int l2, int r2, int k) {
+        long inv = 0;
+        int i = l1, j = l2;
+        while (i < r1 && j < r2) {
+            if (a[i] <= a[j]) aux[k++] = a[i++];
+            else {
+                aux[k++] = a[j++];
+                inv += r1 - i;
+            }
+        }
+        while (i < r1) aux[k++] = a[i++];
+        while (j < r2) aux[k++] = a[j++];
+        return inv;
+    }
+
+    // Primeira posição em a[from, to) com valor >= x (resp. > x)
+    static int lowerBound(int[] a, int from, int to, int x) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] < x) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    static int upperBound(int[] a, int from, int to, int x) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] <= x) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    static final class CopyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src, dst;
+        private final int from, to;
+
+        CopyTask(int[] src, int[] dst, int from, int to) {
+            this.src = src;
+            this.dst = dst;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 4 * PARALLEL_THRESHOLD) {
+                System.arraycopy(src, from, dst, from, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CopyTask(src, dst, from, mid), new CopyTask(src, dst, mid, to));
+        }
+    }
+
+    // ------------------ Ultrapassagens ao vivo ------------------
+    // Acompanha a corrida evento a evento ("a passa b" = os dois trocam de lugar) sem recontar
+    // tudo: decomposição em raiz com blocos ordenados. Trocar as posições i < j, com valores
+    // x = arr[i] e y = arr[j], muda as inversões em ±(1 + 2c), onde c = quantos entre i e j
+    // têm valor entre x e y (+ se x < y, - caso contrário). c sai de varredura nas pontas e
+    // busca binária nos blocos inteiros; cada troca reordena só os dois blocos tocados.
+    // Custo por evento: O(B + (n / B) log B), com B ~ sqrt(n log n).
+    static final class LiveRace {
+        private final int n, block;
+        private final int[] pos;          // competidor -> posição na largada (o pos[] do main)
+        private final int[] arr;          // arr[k] = posição de largada de quem está em k
+        private final int[] where;        // where[v] = k tal que arr[k] == v
+        private final int[] sorted;       // arr com cada bloco [b*B, (b+1)*B) ordenado
+        private long inversions;
+
+        // pos e arr como no main: arr deve ser uma permutação de 0..n-1
+        LiveRace(int[] pos, int[] arr) {
+            n = arr.length;
+            this.pos = pos;
+            this.arr = arr.clone();
+            where = new int[n];
+            Arrays.fill(where, -1);
+            for (int k = 0; k < n; k++) {
+                int v = arr[k];
+                if (v < 0 || v >= n || where[v] >= 0) throw new IllegalArgumentException("arr não é permutação de 0.." + (n - 1));
+                where[v] = k;
+            }
+            block = Math.max(32, (int) Math.sqrt((double) n * (32 - Integer.numberOfLeadingZeros(n))));
+            sorted = arr.clone();
+            for (int from = 0; from < n; from += block) Arrays.sort(sorted, from, Math.min(n, from + block));
+            inversions = countInversions(arr.clone());
+        }
+
+        long inversions() { return inversions; }
+
+        // Posição atual (0 = primeiro) do competidor id
+        int position(int id) { return where[pos[id]]; }
+
+        // a, que vinha atrás de b, passa b: trocam de lugar. Devolve as inversões depois disso.
+        long overtake(int a, int b) {
+            int ia = position(a), ib = position(b);
+            if (ia < ib) throw new IllegalStateException(a + " já está à frente de " + b);
+            return swap(ib, ia);
+        }
+
+        // Troca quem está nas posições i e j
+        long swap(int i, int j) {
+            if (i == j) return inversions;
+            if (i > j) { int t = i; i = j; j = t; }
+            int x = arr[i], y = arr[j];
+            long d = 1 + 2L * countBetween(i + 1, j, Math.min(x, y), Math.max(x, y));
+            inversions += x < y ? d : -d;
+            replace(i, x, y);
+            replace(j, y, x);
+            arr[i] = y;
+            arr[j] = x;
+            where[y] = i;
+            where[x] = j;
+            return inversions;
+        }
+
+        // Quantos k em [from, to) têm lo < arr[k] < hi
+        private int countBetween(int from, int to, int lo, int hi) {
+            int c = 0, k = from;
+            for (; k < to && k % block != 0; k++) if (arr[k] > lo && arr[k] < hi) c++;
+            for (; k + block <= to; k += block) {
+                c += lowerBound(sorted, k, k + block, hi) - upperBound(sorted, k, k + block, lo);
+            }
+            for (; k < to; k++) if (arr[k] > lo && arr[k] < hi) c++;
+            return c;
+        }
+
+        // No bloco da posição k, troca o valor old por nw mantendo o bloco ordenado
+        private void replace(int k, int old, int nw) {
+            int from = k - k % block, to = Math.min(n, from + block);
+            int i = lowerBound(sorted, from, to, old);
+            if (nw > old) {
+                for (; i + 1 < to && sorted[i + 1] < nw; i++) sorted[i] = sorted[i + 1];
+            } else {
+                for (; i > from && sorted[i - 1] > nw; i--) sorted[i] = sorted[i - 1];
+            }
+            sorted[i] = nw;
+        }
+    }
+
+    // ---------------------- Pipeline de casos ----------------------
+    // java Main --pipeline[=T]: leitura, contagem e escrita ao mesmo tempo.
+    // - leitor (uma thread): analisa cada caso direto em pos/arr de um Case livre;
+    // - T contadores (padrão: núcleos): tiram casos prontos da fila e contam as inversões;
+    // - saída (thread chamadora): imprime na ordem da entrada; um caso que termina adiantado
+    //   espera no anel pending[seq % slots] até chegar a vez dele.
+    // Só existem 2T + 2 Cases, circulando livre -> leitor -> contador -> saída -> livre. Sem
+    // Case livre o leitor para (contrapressão): a memória fica em (2T + 2) x o maior caso,
+    // qualquer que seja o número de casos.
+    static final class Case {
+        int seq, n;
+        int[] pos = new int[1];       // competidor -> posição na largada
+        int[] arr = new int[0];       // chegada em posições da largada; só [0, n) vale
+        long inversoes;
+
+        void resize(int n) {
+            this.n = n;
+            if (arr.length < n) {
+                pos = new int[n + 1];
+                arr = new int[n];
+            } else {
+                Arrays.fill(pos, 0, n + 1, 0);  // nada do caso anterior vaza para este
+            }
+        }
+
+        // Mesma faixa que o caminho serial aceita (pos tem n + 1 posições)
+        int id(int x) throws IOException {
+            if (x < 0 || x > n) throw new IOException("Competidor " + x + " fora de 0.." + n + " no caso " + seq);
+            return x;
+        }
+    }
+
+    private static final Case END = new Case();      // fim da entrada: um por contador
+
+    static void runPipeline(InputStream in, FastWriter out, int workers) throws Exception {
+        if (workers < 1) throw new IllegalArgumentException("--pipeline precisa de ao menos 1 contador: " + workers);
+        int slots = 2 * workers + 2;
+        BlockingQueue<Case> free = new ArrayBlockingQueue<>(slots);
+        BlockingQueue<Case> ready = new ArrayBlockingQueue<>(slots + workers);
+        BlockingQueue<Case> done = new ArrayBlockingQueue<>(slots + workers);
+        for (int i = 0; i < slots; i++) free.add(new Case());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            FastScanner fs = new FastScanner(in);
+            try {
+                for (int seq = 0; ; seq++) {
+                    Integer n = fs.nextIntOrNull();
+                    if (n == null) break; // EOF
+                    Case c = free.take();
+                    c.seq = seq;
+                    c.resize(n);
+                    for (int i = 0; i < n; i++) c.pos[c.id(fs.nextInt())] = i;
+                    for (int i = 0; i < n; i++) c.arr[i] = c.pos[c.id(fs.nextInt())];
+                    ready.put(c);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                for (int w = 0; w < workers; w++) ready.add(END);
+            }
+        }, "leitor"));
+        for (int w = 0; w < workers; w++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (Case c; (c = ready.take()) != END; ) {
+                        c.inversoes = countInversions(c.arr, c.n);
+                        done.add(c);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.add(END);
+                }
+            }, "contador-" + w));
+        }
+        for (Thread t : threads) {
+            t.setDaemon(true);
+            t.start();
+        }
+
+        Case[] pending = new Case[slots];
+        int next = 0;
+        for (int ended = 0; ended < workers && failure.get() == null; ) {
+            Case c = done.take();
+            if (c == END) {
+                ended++;
+                continue;
+            }
+            pending[c.seq % slots] = c;
+            for (Case p; (p = pending[next % slots]) != null; next++) {
+                pending[next % slots] = null;
+                out.println(p.inversoes);
+                free.add(p);
+            }
+        }
+        out.flush();
+        Throwable e = failure.get();
+        if (e != null) {
+            for (Thread t : threads) t.interrupt();       // leitor ou contadores parados em fila
+            if (e instanceof Exception) throw (Exception) e;
+            throw (Error) e;
+        }
+    }
+
+    // ---------------------- Benchmark de escala ----------------------
+    // java Main --bench-threads [N] [threads]: permutação aleatória de N elementos, contada
+    // pelo código sequencial e com 1..threads threads
+    static void benchThreads(int n, int maxThreads) {
+        Random rnd = new Random(12345);
+        int[] base = new int[n];
+        for (int i = 0; i < n; i++) base[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = base[i]; base[i] = base[j]; base[j] = t;
+        }
+        long t0 = System.nanoTime();
+        long expected = countInversionsMerge(base.clone(), n);
+        double seqMs = (System.nanoTime() - t0) / 1e6;
+        System.out.printf(Locale.ROOT, "n=%d inversoes=%d sequencial=%.1f ms%n", n, expected, seqMs);
+        for (int t = 1; t <= maxThreads; t++) {
+            ForkJoinPool pool = new ForkJoinPool(t);
+            double best = Double.MAX_VALUE;
+            boolean ok = true;
+            for (int rep = 0; rep < 3; rep++) {
+                int[] a = base.clone();
+                long s = System.nanoTime();
+                ok &= countInversionsParallel(a, pool) == expected;
+                best = Math.min(best, (System.nanoTime() - s) / 1e6);
+            }
+            pool.shutdown();
+            System.out.printf(Locale.ROOT, "threads=%2d %.1f ms speedup=%.2f %s%n", t, best, seqMs / best, ok ? "ok" : "ERRO");
+        }
+    }
+
+    // java Main --bench-inversions: tempo de cada estratégia por tamanho e distribuição,
+    // e a escolha do seletor; é daqui que saem INSERTION_MAX, BIT_MAX e o limiar do PROBE
+    static void benchInversions() {
+        Random rnd = new Random(7);
+        String[] kinds = {"aleatorio", "quase-ordenado", "invertido"};
+        System.out.printf("%-10s %-15s %10s %10s %10s %10s  escolha%n", "n", "entrada", "INSERTION", "MERGE", "BIT", "BLOCKED");
+        for (int n : new int[] {8, 32, 48, 128, 1 << 12, 1 << 16, 1 << 18, 1 << 20, 1 << 22, 1 << 24}) {
+            for (String kind : kinds) {
+                int[] base = new int[n];
+                for (int i = 0; i < n; i++) base[i] = kind.equals("invertido") ? n - 1 - i : i;
+                if (kind.equals("aleatorio")) {
+                    for (int i = n - 1; i > 0; i--) {
+                        int j = rnd.nextInt(i + 1);
+                        int t = base[i]; base[i] = base[j]; base[j] = t;
+                    }
+                } else if (kind.equals("quase-ordenado")) {
+                    for (int s = 0; s < n / 200 + 1; s++) {
+                        int i = rnd.nextInt(n), j = Math.min(n - 1, i + rnd.nextInt(16));
+                        int t = base[i]; base[i] = base[j]; base[j] = t;
+                    }
+                }
+                int reps = Math.max(1, (1 << 22) / n);
+                StringBuilder row = new StringBuilder(String.format("%-10d %-15s", n, kind));
+                long expected = -1;
+                for (Strategy s : Strategy.values()) {
+                    if (s == Strategy.INSERTION && n > 1 << 16) {
+                        row.append(String.format(" %10s", "-"));
+                        continue;
+                    }
+                    long best = Long.MAX_VALUE, got = 0;
+                    for (int r = 0; r < Math.min(reps, 200); r++) {
+                        int[] a = base.clone();
+                        long t0 = System.nanoTime();
+                        got = countInversions(a, s);
+                        best = Math.min(best, System.nanoTime() - t0);
+                    }
+                    if (expected < 0) expected = got;
+                    row.append(String.format(Locale.ROOT, " %10.3f", best / 1e6)).append(got == expected ? "" : "!");
+                }
+                System.out.println(row.append("  ").append(choose(base)));
+            }
+        }
+    }
+
+    // java Main --bench-live [N] [eventos]: ultrapassagens aleatórias (quase sempre de quem vem
+    // logo atrás) aplicadas com LiveRace, contra recontar tudo a cada evento (amostrado)
+    static void benchLive(int n, int events) {
+        Random rnd = new Random(2024);
+        int[] pos = new int[n + 1], arr = new int[n];
+        for (int i = 0; i < n; i++) pos[i + 1] = i;
+        for (int i = 0; i < n; i++) arr[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = arr[i]; arr[i] = arr[j]; arr[j] = t;
+        }
+        long t0 = System.nanoTime();
+        LiveRace race = new LiveRace(pos, arr);
+        double buildMs = (System.nanoTime() - t0) / 1e6;
+        int sample = Math.max(1, events / 20);
+        long liveNs = 0, fullNs = 0;
+        int checked = 0;
+        boolean ok = true;
+        for (int e = 0; e < events; e++) {
+            int i, j;
+            if (rnd.nextInt(10) > 0) {
+                j = 1 + rnd.nextInt(n - 1);
+                i = j - 1;
+            } else {
+                i = rnd.nextInt(n);
+                j = rnd.nextInt(n);
+            }
+            int t = arr[i]; arr[i] = arr[j]; arr[j] = t;
+            long s = System.nanoTime();
+            long live = race.swap(i, j);
+            liveNs += System.nanoTime() - s;
+            if (e % sample == 0) {
+                s = System.nanoTime();
+                ok &= countInversions(arr.clone()) == live;
+                fullNs += System.nanoTime() - s;
+                checked++;
+            }
+        }
+        System.out.printf(Locale.ROOT, "n=%d eventos=%d construção=%.1f ms%n", n, events, buildMs);
+        System.out.printf(Locale.ROOT, "incremental=%.2f µs/evento  recontagem=%.2f µs/evento  (%d conferidos) %s%n",
+                          liveNs / 1e3 / events, fullNs / 1e3 / checked, checked, ok ? "ok" : "ERRO");
+    }
+
+    // java Main --bench-pipeline [casos] [N] [threads]: entrada em memória com casos aleatórios
+    // de até N competidores, resolvida caso a caso e pelo pipeline com 1..threads contadores
+    static void benchPipeline(int cases, int n, int maxThreads) throws Exception {
+        Random rnd = new Random(99);
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(input, false, "US-ASCII");
+        int[] perm = new int[n];
+        for (int c = 0; c < cases; c++) {
+            int m = 1 + rnd.nextInt(n);
+            ps.println(m);
+            for (int row = 0; row < 2; row++) {
+                for (int i = 0; i < m; i++) perm[i] = i + 1;
+                for (int i = m - 1; i > 0; i--) {
+                    int j = rnd.nextInt(i + 1);
+                    int t = perm[i]; perm[i] = perm[j]; perm[j] = t;
+                }
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < m; i++) line.append(i > 0 ? " " : "").append(perm[i]);
+                ps.println(line);
+            }
+        }
+        ps.flush();
+        byte[] bytes = input.toByteArray();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        long t0 = System.nanoTime();
+        solveAll(new ByteArrayInputStream(bytes), new FastWriter(expected), false, false);
+        double seqMs = (System.nanoTime() - t0) / 1e6;
+        System.out.printf(Locale.ROOT, "casos=%d entrada=%.1f MB caso-a-caso=%.1f ms%n", cases, bytes.length / 1e6, seqMs);
+        for (int t = 1; t <= maxThreads; t++) {
+            ByteArrayOutputStream got = new ByteArrayOutputStream();
+            long s = System.nanoTime();
+            runPipeline(new ByteArrayInputStream(bytes), new FastWriter(got), t);
+            double ms = (System.nanoTime() - s) / 1e6;
+            boolean ok = Arrays.equals(got.toByteArray(), expected.toByteArray());
+            System.out.printf(Locale.ROOT, "contadores=%2d %.1f ms speedup=%.2f %s%n", t, ms, seqMs / ms, ok ? "ok" : "ERRO");
+        }
+    }
+
     public static void main(String[] args) throws Exception {
-        FastScanner fs = new FastScanner(System.in);
-        StringBuilder out = new StringBuilder();
+        if (args.length > 0 && args[0].equals("--bench-inversions")) {
+            benchInversions();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bench-threads")) {
+            benchThreads(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000,
+                         args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors());
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bench-pipeline")) {
+            benchPipeline(args.length > 1 ? Integer.parseInt(args[1]) : 1000,
+                          args.length > 2 ? Integer.parseInt(args[2]) : 10_000,
+                          args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors());
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bench-live")) {
+            benchLive(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000,
+                      args.length > 2 ? Integer.parseInt(args[2]) : 100_000);
+            return;
+        }
+        // --parallel: conta as inversões com todos os núcleos (fork-join)
+        boolean parallel = args.length > 0 && args[0].equals("--parallel");
+        // --live: depois dos grids, cada caso traz M e M linhas "a b" (a passa b); imprime as
+        // inversões iniciais e as de depois de cada evento
+        boolean live = args.length > 0 && args[0].equals("--live");
+        // --pipeline[=T]: leitura, T contadores e escrita em paralelo (ver runPipeline)
+        if (args.length > 0 && args[0].startsWith("--pipeline")) {
+            int workers = args[0].startsWith("--pipeline=") ? Integer.parseInt(args[0].substring(11))
+                                                            : Runtime.getRuntime().availableProcessors();
+            runPipeline(System.in, FastWriter.stdout(), workers);
+            return;
+        }
+        solveAll(System.in, FastWriter.stdout(), parallel, live);
+    }
 
-        while (true) {
+    // Um caso por vez, como sempre foi; parallel e live são as opções --parallel e --live
+    static void solveAll(InputStream in, FastWriter out, boolean parallel, boolean live) throws IOException {
+        FastScanner fs = new FastScanner(in);
+        try {
+            solveCases(fs, out, parallel, live);
+        } finally {
+            out.flush(); // um erro de entrada no meio não leva junto as respostas já prontas
+        }
+    }
+
+    private static void solveCases(FastScanner fs, FastWriter out, boolean parallel, boolean live) throws IOException {
+        for (int seq = 0; ; seq++) {
             Integer nObj = fs.nextIntOrNull();
             if (nObj == null) break; // EOF
             int n = nObj;
@@ -89,6 +806,13 @@ public class Main {
             int[] gridChegada = new int[n];
             for (int i = 0; i < n; i++) gridChegada[i] = fs.nextIntOrNull();
 
+            // O LiveRace precisa de permutações de 1..N; o caminho normal conta mesmo sem elas
+            if (live) {
+                String bad = permutationError(gridLargada, "largada");
+                if (bad == null) bad = permutationError(gridChegada, "chegada");
+                if (bad != null) throw new IOException(bad + " no caso " + seq);
+            }
+
             // mapa: competidor -> posição na largada
             int[] pos = new int[n + 1]; // ids são 1..N
             for (int i = 0; i < n; i++) pos[gridLargada[i]] = i;
@@ -97,11 +821,35 @@ public class Main {
             int[] arr = new int[n];
             for (int i = 0; i < n; i++) arr[i] = pos[gridChegada[i]];
 
+            if (live) {
+                LiveRace race = new LiveRace(pos, arr);
+                out.println(race.inversions());
+                int m = fs.nextInt();
+                for (int e = 1; e <= m; e++) {
+                    int a = fs.nextInt(), b = fs.nextInt();
+                    if (a < 1 || a > n || b < 1 || b > n)
+                        throw new IOException("Competidor fora de 1.." + n + " no evento " + e + " do caso " + seq);
+                    if (race.position(a) < race.position(b))
+                        throw new IOException(a + " já está à frente de " + b + " no evento " + e + " do caso " + seq);
+                    out.println(race.overtake(a, b));
+                }
+                continue;
+            }
+
             // o número mínimo de ultrapassagens = # inversões em arr
-            long inversoes = countInversions(arr);
-            out.append(inversoes).append('\n');
+            long inversoes = parallel ? countInversionsParallel(arr, ForkJoinPool.commonPool()) : countInversions(arr);
+            out.println(inversoes);
         }
+    }
 
-        System.out.print(out.toString());
+    // null se grid é uma permutação de 1..N (N = grid.length); senão, o que está errado
+    static String permutationError(int[] grid, String name) {
+        boolean[] seen = new boolean[grid.length + 1];
+        for (int id : grid) {
+            if (id < 1 || id > grid.length) return "Competidor " + id + " fora de 1.." + grid.length + " no grid de " + name;
+            if (seen[id]) return "Competidor " + id + " repetido no grid de " + name;
+            seen[id] = true;
+        }
+        return null;
     }
 }
@@ -0,0 +1,204 @@
+import java.util.*;
+
+/**
+ * Busca por nome sem varrer o catálogo: prefixo (autocompletar) e trecho qualquer do nome.
+ *
+ * Observações:
+ * - Tudo é comparado em minúsculas (Locale.ROOT).
+ * - Prefixo: os nomes ficam ordenados num único vetor, que funciona como uma trie achatada;
+ *   cada prefixo corresponde a um intervalo contíguo, achado com duas buscas binárias.
+ * - Trecho: índice de trigramas (3 caracteres seguidos) -> linhas, em vetores compactos.
+ *   Só as linhas do trigrama mais raro da consulta são candidatas, confirmadas com contains().
+ *   Trechos com menos de 3 caracteres caem na varredura.
+ * - Os resultados saem ordenados por estimatedOwners (maior primeiro), empate pelo menor id.
+ * - main() compara com a varredura linear: java NameIndex [games.csv] [consultas].
+ */
+public final class NameIndex {
+    private final GameTable table;
+    private final String[] lower;          // nome em minúsculas, por linha
+    private final String[] sorted;         // lower em ordem
+    private final int[] sortedRows;        // linha de cada posição de sorted
+    private final Map<Long, Integer> trigramIds = new HashMap<>();
+    private int[] postingStart;            // linhas do trigrama t: postings[postingStart[t] .. postingStart[t + 1])
+    private int[] postings;
+
+    private NameIndex(GameTable table) {
+        this.table = table;
+        int n = table.size();
+        lower = new String[n];
+        Integer[] order = new Integer[n];
+        for (int r = 0; r < n; r++) {
+            String name = table.name(r);
+            lower[r] = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            order[r] = r;
+        }
+        Arrays.sort(order, (a, b) -> lower[a].compareTo(lower[b]));
+        sorted = new String[n];
+        sortedRows = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedRows[i] = order[i];
+            sorted[i] = lower[order[i]];
+        }
+        buildTrigrams();
+    }
+
+    public static NameIndex build(GameTable t) { return new NameIndex(t); }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    // Pares (trigrama, linha) ordenados viram listas contíguas, sem uma lista por trigrama
+    private void buildTrigrams() {
+        long[] pairs = new long[64];
+        int n = 0;
+        for (int r = 0; r < lower.length; r++) {
+            String s = lower[r];
+            for (int i = 0; i + 3 <= s.length(); i++) {
+                Integer id = trigramIds.putIfAbsent(trigram(s, i), trigramIds.size());
+                if (id == null) id = trigramIds.size() - 1;
+                if (n == pairs.length) pairs = Arrays.copyOf(pairs, n * 2);
+                pairs[n++] = ((long) id << 32) | r;
+            }
+        }
+        Arrays.parallelSort(pairs, 0, n);
+        postingStart = new int[trigramIds.size() + 1];
+        postings = new int[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && pairs[i] == pairs[i - 1]) continue;        // trigrama repetido no mesmo nome
+            postings[m++] = (int) pairs[i];
+            postingStart[(int) (pairs[i] >>> 32) + 1] = m;
+        }
+        for (int t = 1; t < postingStart.length; t++) postingStart[t] = Math.max(postingStart[t], postingStart[t - 1]);
+        postings = Arrays.copyOf(postings, m);
+    }
+
+    // -------------------- Consultas --------------------
+    /** Até limit linhas cujo nome começa com prefix, as de mais donos primeiro. */
+    public int[] prefix(String prefix, int limit) {
+        String p = prefix.toLowerCase(Locale.ROOT);
+        int from = lowerBound(p), to = prefixEnd(p, from);
+        Ranking rk = new Ranking(limit, to - from);
+        for (int i = from; i < to; i++) rk.offer(sortedRows[i]);
+        return rk.rows();
+    }
+
+    /** Até limit linhas cujo nome contém part, as de mais donos primeiro. */
+    public int[] substring(String part, int limit) {
+        String q = part.toLowerCase(Locale.ROOT);
+        if (q.length() < 3) {
+            Ranking rk = new Ranking(limit, lower.length);
+            for (int r = 0; r < lower.length; r++) if (lower[r].contains(q)) rk.offer(r);
+            return rk.rows();
+        }
+        int rarest = -1;                   // trigrama com menos linhas: só elas são candidatas
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Integer id = trigramIds.get(trigram(q, i));
+            if (id == null) return new int[0];
+            if (rarest < 0 || listSize(id) < listSize(rarest)) rarest = id;
+        }
+        Ranking rk = new Ranking(limit, listSize(rarest));
+        for (int i = postingStart[rarest]; i < postingStart[rarest + 1]; i++) {
+            int r = postings[i];
+            if (lower[r].contains(q)) rk.offer(r);
+        }
+        return rk.rows();
+    }
+
+    public int size() { return lower.length; }
+
+    private int listSize(int trigramId) { return postingStart[trigramId + 1] - postingStart[trigramId]; }
+
+    // Primeira posição de sorted com valor >= s
+    private int lowerBound(String s) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].compareTo(s) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Fim do intervalo (contíguo) dos nomes que começam com p
+    private int prefixEnd(String p, int from) {
+        int lo = from, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].startsWith(p)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Melhores por donos (desempate pelo id), com o heap limitado de TopK
+    private final class Ranking {
+        private final TopK.Heap heap;
+
+        Ranking(int limit, int candidates) {
+            if (limit <= 0) throw new IllegalArgumentException("limit deve ser positivo: " + limit);
+            heap = new TopK.Heap(Math.max(1, Math.min(limit, candidates)));
+        }
+
+        void offer(int row) {
+            heap.offer(TopK.priority(table.estimatedOwners(row), table.id(row), true), row);
+        }
+
+        int[] rows() { return heap.drain(); }
+    }
+
+    // -------------------- Benchmark --------------------
+    // Como era antes: minúsculas e comparação em cada nome, ordenando os achados
+    static int[] linear(GameTable t, String q, boolean prefixOnly, int limit) {
+        String lq = q.toLowerCase(Locale.ROOT);
+        int[] hits = t.select(r -> {
+            String name = t.name(r) == null ? "" : t.name(r).toLowerCase(Locale.ROOT);
+            return prefixOnly ? name.startsWith(lq) : name.contains(lq);
+        });
+        Integer[] boxed = new Integer[hits.length];
+        for (int i = 0; i < hits.length; i++) boxed[i] = hits[i];
+        Arrays.sort(boxed, (a, b) -> t.estimatedOwners(a) != t.estimatedOwners(b)
+                ? Integer.compare(t.estimatedOwners(b), t.estimatedOwners(a))
+                : a.equals(b) ? 0 : t.id(a) != t.id(b) ? Integer.compare(t.id(a), t.id(b)) : Integer.compare(a, b));
+        int[] out = new int[Math.min(limit, boxed.length)];
+        for (int i = 0; i < out.length; i++) out[i] = boxed[i];
+        return out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "/tmp/games.csv";
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        GameTable t = GameTable.load(path);
+        long b0 = System.nanoTime();
+        NameIndex idx = build(t);
+        System.out.printf("linhas=%d trigramas=%d construção=%.1f ms%n", t.size(), idx.trigramIds.size(), (System.nanoTime() - b0) / 1e6);
+
+        Random rnd = new Random(42);
+        String[] qs = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            String name = t.name(rnd.nextInt(t.size()));
+            if (name == null || name.isEmpty()) name = "a";
+            int from = i % 2 == 0 ? 0 : rnd.nextInt(name.length());
+            qs[i] = name.substring(from, Math.min(name.length(), from + 1 + rnd.nextInt(6)));
+        }
+        for (boolean prefixOnly : new boolean[] {true, false}) {
+            long idxNs = 0, linNs = 0;
+            int diff = 0, ranked = 0;
+            for (String q : qs) {
+                long t0 = System.nanoTime();
+                int[] a = prefixOnly ? idx.prefix(q, 10) : idx.substring(q, 10);
+                long t1 = System.nanoTime();
+                int[] b = linear(t, q, prefixOnly, 10);
+                long t2 = System.nanoTime();
+                idxNs += t1 - t0;
+                linNs += t2 - t1;
+                if (!Arrays.equals(a, b)) diff++;
+                // consultas em que a ordem por donos decidiu quem entra nos 10
+                if (b.length == 10 && t.estimatedOwners(b[0]) != t.estimatedOwners(b[9])) ranked++;
+            }
+            System.out.printf("%-9s índice=%8.1f µs/consulta  varredura=%8.1f µs/consulta  divergências=%d  ranqueadas=%d%n",
+                              prefixOnly ? "prefixo" : "trecho", idxNs / 1e3 / queries, linNs / 1e3 / queries, diff, ranked);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.*;
+
+/**
+ * Índice ordenado de uma coluna numérica da GameTable: chaves em ordem crescente e, em
+ * paralelo, a linha de cada chave.
+ *
+ * Observações:
+ * - Faixas (between/greaterThan/lessThan) são duas buscas binárias; o resultado é um trecho
+ *   contíguo de rows[], devolvido como linhas, ids ou RoaringBitmap (para cruzar com FacetIndex).
+ * - Percentis e histogramas saem do mesmo vetor ordenado, sem reordenar nada.
+ * - Empates de chave ficam em ordem crescente de linha.
+ * - Os limites são valores da coluna (a data é aaaammdd, ex.: 20200101).
+ */
+public final class RangeIndex {
+    private final GameTable table;
+    private final GameTable.Column column;
+    private final int[] keys;
+    private final int[] rows;
+
+    private RangeIndex(GameTable table, GameTable.Column column, int[] keys, int[] rows) {
+        this.table = table;
+        this.column = column;
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    public static RangeIndex build(GameTable t, GameTable.Column c) {
+        int n = t.size();
+        long[] packed = new long[n];                 // chave nos 32 bits altos, linha nos baixos
+        for (int r = 0; r < n; r++) packed[r] = ((long) t.key(c, r) << 32) | r;
+        Arrays.parallelSort(packed);
+        int[] keys = new int[n], rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (int) (packed[i] >> 32);
+            rows[i] = (int) packed[i];
+        }
+        return new RangeIndex(t, c, keys, rows);
+    }
+
+    public GameTable.Column column() { return column; }
+    public int size() { return keys.length; }
+
+    // -------------------- Faixas --------------------
+    // Primeira posição com chave >= key
+    private int lowerBound(int key) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Primeira posição com chave > key
+    private int upperBound(int key) {
+        return key == Integer.MAX_VALUE ? keys.length : lowerBound(key + 1);
+    }
+
+    /** Posições [de, até) de rows[] com min <= valor <= max. */
+    private int[] span(double min, double max) {
+        int from = lowerBound(column.lowerKey(min));
+        int to = Math.max(from, upperBound(column.upperKey(max)));
+        return new int[] {from, to};
+    }
+
+    public int count(double min, double max) {
+        int[] s = span(min, max);
+        return s[1] - s[0];
+    }
+
+    /** Linhas com min <= valor <= max, em ordem crescente de valor. */
+    public int[] between(double min, double max) {
+        int[] s = span(min, max);
+        return Arrays.copyOfRange(rows, s[0], s[1]);
+    }
+
+    public int[] greaterThan(double v) {
+        return Arrays.copyOfRange(rows, upperBound(column.upperKey(v)), rows.length);
+    }
+
+    public int[] lessThan(double v) {
+        return Arrays.copyOfRange(rows, 0, lowerBound(column.lowerKey(v)));
+    }
+
+    /** Ids (GameTable.id) das linhas com min <= valor <= max, em ordem crescente de valor. */
+    public int[] idsBetween(double min, double max) {
+        int[] r = between(min, max);
+        for (int i = 0; i < r.length; i++) r[i] = table.id(r[i]);
+        return r;
+    }
+
+    public RoaringBitmap bitmap(double min, double max) {
+        int[] r = between(min, max);
+        Arrays.sort(r);
+        return RoaringBitmap.of(r);
+    }
+
+    // -------------------- Distribuição --------------------
+    /** Menor valor da coluna; NoSuchElementException se o índice estiver vazio. */
+    public double min() {
+        if (keys.length == 0) throw new NoSuchElementException("Índice vazio");
+        return column.value(keys[0]);
+    }
+
+    /** Maior valor da coluna; NoSuchElementException se o índice estiver vazio. */
+    public double max() {
+        if (keys.length == 0) throw new NoSuchElementException("Índice vazio");
+        return column.value(keys[keys.length - 1]);
+    }
+
+    /** Percentil p (0..100) pelo método do posto mais próximo. */
+    public double percentile(double p) {
+        if (keys.length == 0) throw new NoSuchElementException("Índice vazio");
+        if (p < 0 || p > 100) throw new IllegalArgumentException("Percentil fora de 0..100: " + p);
+        int rank = (int) Math.ceil(p / 100 * keys.length);
+        return column.value(keys[Math.max(rank, 1) - 1]);
+    }
+
+    /**
+     * Contagem por faixa: counts[i] = valores em [bounds[i], bounds[i + 1]), com a última
+     * faixa fechada em bounds[bounds.length - 1]. bounds deve ser crescente.
+     */
+    public int[] histogram(double... bounds) {
+        if (bounds.length < 2) throw new IllegalArgumentException("Histograma precisa de ao menos 2 limites");
+        int[] counts = new int[bounds.length - 1];
+        int prev = lowerBound(column.lowerKey(bounds[0]));
+        for (int i = 1; i < bounds.length; i++) {
+            int at = i == bounds.length - 1 ? upperBound(column.upperKey(bounds[i]))
+                                            : lowerBound(column.lowerKey(bounds[i]));
+            counts[i - 1] = Math.max(0, at - prev);
+            prev = Math.max(prev, at);
+        }
+        return counts;
+    }
+
+    /** Histograma de largura fixa entre min() e max(); só zeros se o índice estiver vazio. */
+    public int[] histogram(int buckets) {
+        if (buckets < 1) throw new IllegalArgumentException("Histograma precisa de ao menos 1 faixa: " + buckets);
+        if (keys.length == 0) return new int[buckets];
+        double lo = min(), hi = max();
+        double[] bounds = new double[buckets + 1];
+        for (int i = 0; i <= buckets; i++) bounds[i] = lo + (hi - lo) * i / buckets;
+        bounds[buckets] = hi;
+        return histogram(bounds);
+    }
+}
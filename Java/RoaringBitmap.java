@@ -0,0 +1,330 @@
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto comprimido de inteiros não negativos no estilo Roaring.
+ *
+ * Observações:
+ * - Os 16 bits altos escolhem um contêiner; os 16 bits baixos ficam dentro dele.
+ * - Contêiner com até 4096 valores é um char[] ordenado; acima disso vira um mapa de
+ *   1024 longs (8 KiB), que nunca é maior que o vetor correspondente.
+ * - and/or/andNot devolvem um conjunto novo; os operandos não mudam.
+ * - add() é mais rápido quando os valores chegam em ordem crescente (caso dos índices).
+ */
+public final class RoaringBitmap {
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;                    // número de contêineres
+
+    // -------------------- Construção --------------------
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap b = new RoaringBitmap();
+        for (int v : values) b.add(v);
+        return b;
+    }
+
+    /** Conjunto {from, ..., to - 1}. */
+    public static RoaringBitmap range(int from, int to) {
+        RoaringBitmap b = new RoaringBitmap();
+        for (long at = from; at < to; at = (at | 0xFFFF) + 1) {
+            int hi = (int) (at >>> 16);
+            b.append((char) hi, Container.range((int) at & 0xFFFF, (int) Math.min(to - ((long) hi << 16), 1 << 16)));
+        }
+        return b;
+    }
+
+    public void add(int x) {
+        if (x < 0) throw new IllegalArgumentException("Valor negativo: " + x);
+        char hi = (char) (x >>> 16);
+        int i = size > 0 && keys[size - 1] == hi ? size - 1 : find(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, hi, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) x);
+    }
+
+    // -------------------- Consultas --------------------
+    public boolean contains(int x) {
+        if (x < 0) return false;
+        int i = find((char) (x >>> 16));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) n += containers[i].cardinality();
+        return n;
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /** Valores em ordem crescente. */
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] n = {0};
+        forEach(v -> out[n[0]++] = v);
+        return out;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) containers[i].forEach(keys[i] << 16, action);
+    }
+
+    // -------------------- Operações --------------------
+    public RoaringBitmap and(RoaringBitmap o) {
+        RoaringBitmap r = new RoaringBitmap();
+        for (int i = 0, j = 0; i < size && j < o.size; ) {
+            if (keys[i] < o.keys[j]) i++;
+            else if (keys[i] > o.keys[j]) j++;
+            else {
+                Container c = containers[i].and(o.containers[j]);
+                if (c.cardinality() > 0) r.append(keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public RoaringBitmap or(RoaringBitmap o) {
+        RoaringBitmap r = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < size || j < o.size) {
+            if (j == o.size || (i < size && keys[i] < o.keys[j])) { r.append(keys[i], containers[i].copy()); i++; }
+            else if (i == size || keys[i] > o.keys[j]) { r.append(o.keys[j], o.containers[j].copy()); j++; }
+            else { r.append(keys[i], containers[i].or(o.containers[j])); i++; j++; }
+        }
+        return r;
+    }
+
+    /** Valores deste conjunto que não estão em o. */
+    public RoaringBitmap andNot(RoaringBitmap o) {
+        RoaringBitmap r = new RoaringBitmap();
+        for (int i = 0, j = 0; i < size; i++) {
+            while (j < o.size && o.keys[j] < keys[i]) j++;
+            Container c = j < o.size && o.keys[j] == keys[i] ? containers[i].andNot(o.containers[j]) : containers[i].copy();
+            if (c.cardinality() > 0) r.append(keys[i], c);
+        }
+        return r;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RoaringBitmap && Arrays.equals(toArray(), ((RoaringBitmap) o).toArray());
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(toArray()); }
+
+    @Override
+    public String toString() { return Arrays.toString(toArray()); }
+
+    // -------------------- Internos --------------------
+    private int find(char hi) {
+        return Arrays.binarySearch(keys, 0, size, hi);
+    }
+
+    private void insert(int i, char hi, Container c) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = hi;
+        containers[i] = c;
+        size++;
+    }
+
+    private void append(char hi, Container c) { insert(size, hi, c); }
+
+    private abstract static class Container {
+        abstract Container add(char x);
+        abstract Container copy();
+        abstract boolean contains(char x);
+        abstract int cardinality();
+        abstract void forEach(int base, IntConsumer action);
+        abstract Container and(Container o);
+        abstract Container or(Container o);
+        abstract Container andNot(Container o);
+
+        static Container range(int from, int to) {
+            if (to - from <= ARRAY_MAX) {
+                ArrayContainer a = new ArrayContainer();
+                a.values = new char[to - from];
+                for (int v = from; v < to; v++) a.values[a.n++] = (char) v;
+                return a;
+            }
+            BitmapContainer b = new BitmapContainer();
+            for (int v = from; v < to; v++) b.bits[v >>> 6] |= 1L << v;
+            b.card = to - from;
+            return b;
+        }
+
+        // Resultado de operação: volta a vetor quando couber
+        static Container shrink(BitmapContainer b) {
+            if (b.card > ARRAY_MAX) return b;
+            ArrayContainer a = new ArrayContainer();
+            a.values = new char[b.card];
+            b.forEach(0, v -> a.values[a.n++] = (char) v);
+            return a;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values = new char[4];
+        int n;
+
+        @Override
+        Container add(char x) {
+            int i = n > 0 && values[n - 1] < x ? -n - 1 : Arrays.binarySearch(values, 0, n, x);
+            if (i >= 0) return this;
+            if (n == ARRAY_MAX) return toBitmap().add(x);
+            i = -i - 1;
+            if (n == values.length) values = Arrays.copyOf(values, Math.min(Math.max(n * 2, 4), ARRAY_MAX));
+            System.arraycopy(values, i, values, i + 1, n - i);
+            values[i] = x;
+            n++;
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer a = new ArrayContainer();
+            a.values = Arrays.copyOf(values, n);
+            a.n = n;
+            return a;
+        }
+
+        @Override boolean contains(char x) { return Arrays.binarySearch(values, 0, n, x) >= 0; }
+        @Override int cardinality() { return n; }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < n; i++) action.accept(base | values[i]);
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer b = new BitmapContainer();
+            for (int i = 0; i < n; i++) b.bits[values[i] >>> 6] |= 1L << values[i];
+            b.card = n;
+            return b;
+        }
+
+        @Override
+        Container and(Container o) {
+            ArrayContainer r = new ArrayContainer();
+            r.values = new char[n];
+            if (o instanceof ArrayContainer) {
+                ArrayContainer a = (ArrayContainer) o;
+                for (int i = 0, j = 0; i < n && j < a.n; ) {
+                    if (values[i] < a.values[j]) i++;
+                    else if (values[i] > a.values[j]) j++;
+                    else { r.values[r.n++] = values[i]; i++; j++; }
+                }
+            } else {
+                for (int i = 0; i < n; i++) if (o.contains(values[i])) r.values[r.n++] = values[i];
+            }
+            return r;
+        }
+
+        @Override
+        Container or(Container o) {
+            if (o instanceof BitmapContainer) return o.or(this);
+            ArrayContainer a = (ArrayContainer) o;
+            if (n + a.n > ARRAY_MAX) return toBitmap().or(a);
+            ArrayContainer r = new ArrayContainer();
+            r.values = new char[n + a.n];
+            int i = 0, j = 0;
+            while (i < n || j < a.n) {
+                char v;
+                if (j == a.n || (i < n && values[i] < a.values[j])) v = values[i++];
+                else if (i == n || values[i] > a.values[j]) v = a.values[j++];
+                else { v = values[i++]; j++; }
+                r.values[r.n++] = v;
+            }
+            return r;
+        }
+
+        @Override
+        Container andNot(Container o) {
+            ArrayContainer r = new ArrayContainer();
+            r.values = new char[n];
+            for (int i = 0; i < n; i++) if (!o.contains(values[i])) r.values[r.n++] = values[i];
+            return r;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] bits = new long[1024];
+        int card;
+
+        @Override
+        Container add(char x) {
+            long before = bits[x >>> 6];
+            bits[x >>> 6] |= 1L << x;
+            if (before != bits[x >>> 6]) card++;
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer b = new BitmapContainer();
+            System.arraycopy(bits, 0, b.bits, 0, bits.length);
+            b.card = card;
+            return b;
+        }
+
+        @Override boolean contains(char x) { return (bits[x >>> 6] & (1L << x)) != 0; }
+        @Override int cardinality() { return card; }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < bits.length; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1)
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+            }
+        }
+
+        @Override
+        Container and(Container o) {
+            if (o instanceof ArrayContainer) return o.and(this);
+            BitmapContainer b = (BitmapContainer) o, r = new BitmapContainer();
+            for (int w = 0; w < bits.length; w++) r.card += Long.bitCount(r.bits[w] = bits[w] & b.bits[w]);
+            return shrink(r);
+        }
+
+        @Override
+        Container or(Container o) {
+            BitmapContainer r = new BitmapContainer();
+            System.arraycopy(bits, 0, r.bits, 0, bits.length);
+            if (o instanceof ArrayContainer) {
+                r.card = card;
+                ArrayContainer a = (ArrayContainer) o;
+                for (int i = 0; i < a.n; i++) r.add(a.values[i]);
+            } else {
+                BitmapContainer b = (BitmapContainer) o;
+                for (int w = 0; w < bits.length; w++) r.card += Long.bitCount(r.bits[w] |= b.bits[w]);
+            }
+            return r;
+        }
+
+        @Override
+        Container andNot(Container o) {
+            BitmapContainer r = new BitmapContainer();
+            if (o instanceof ArrayContainer) {
+                System.arraycopy(bits, 0, r.bits, 0, bits.length);
+                ArrayContainer a = (ArrayContainer) o;
+                for (int i = 0; i < a.n; i++) r.bits[a.values[i] >>> 6] &= ~(1L << a.values[i]);
+                for (long w : r.bits) r.card += Long.bitCount(w);
+            } else {
+                BitmapContainer b = (BitmapContainer) o;
+                for (int w = 0; w < bits.length; w++) r.card += Long.bitCount(r.bits[w] = bits[w] & ~b.bits[w]);
+            }
+            return shrink(r);
+        }
+    }
+}
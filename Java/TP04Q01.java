@@ -1,7 +1,19 @@
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 public class TP04Q01 {
 
@@ -11,29 +23,48 @@ public class TP04Q01 {
         String releaseDate;                 // dd/MM/yyyy
         int estimatedOwners;
         float price;
-        String[] supportedLanguages;
+        int[] supportedLanguages;           // listas: códigos do Dict
         int metacriticScore;
         float userScore;
         int achievements;
-        String[] publishers;
-        String[] developers;
-        String[] categories;
-        String[] genres;
-        String[] tags;
+        int[] publishers;
+        int[] developers;
+        int[] categories;
+        int[] genres;
+        int[] tags;
 
 private static String arrToString(String[] arr) {
     if (arr == null) return "[]";
     StringBuilder sb = new StringBuilder();
     sb.append('[');
+    boolean afterComma = false;
     for (int i = 0; i < arr.length; i++) {
-        sb.append(arr[i]);
-        if (i + 1 < arr.length) sb.append(", ");
+        afterComma = appendSpaced(sb, String.valueOf(arr[i]), afterComma);
+        if (i + 1 < arr.length) afterComma = appendSpaced(sb, ", ", afterComma);
     }
     sb.append(']');
-    // garante espaço depois de toda vírgula, mesmo quando o campo veio como um item único
-    return sb.toString().replaceAll(",\\s*", ", ");
+    return sb.toString();
 }
 
+        // Acrescenta s já aplicando ",\\s*" -> ", " (espaço depois de toda vírgula) numa só
+        // passada; afterComma diz se o último caractere escrito foi uma vírgula
+        static boolean appendSpaced(StringBuilder sb, String s, boolean afterComma) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (afterComma && isRegexSpace(c)) continue;
+                afterComma = c == ',';
+                if (afterComma) sb.append(", ");
+                else sb.append(c);
+            }
+            return afterComma;
+        }
+
+        // Mesma classe de \\s das regex do Java: [ \\t\\n\\x0B\\f\\r]
+        static boolean isRegexSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+        }
+
+        static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
 
         private static String safe(String s) { return s == null ? "" : s; }
 
@@ -42,9 +73,9 @@ public String toString() {
     String user = (userScore == -1.0f) ? "-1.0" : String.format(java.util.Locale.US, "%.1f", userScore);
     return "=> " + id + " ## " + safe(name) + " ## " + safe(releaseDate) + " ## " +
            estimatedOwners + " ## " + String.format(java.util.Locale.US, "%.2f", price) + " ## " +
-           arrToString(supportedLanguages) + " ## " + metacriticScore + " ## " + user + " ## " +
-           achievements + " ## " + arrToString(publishers) + " ## " + arrToString(developers) + " ## " +
-           arrToString(categories) + " ## " + arrToString(genres) + " ## " + arrToString(tags) + " ##";
+           arrToString(Dict.decode(supportedLanguages)) + " ## " + metacriticScore + " ## " + user + " ## " +
+           achievements + " ## " + arrToString(Dict.decode(publishers)) + " ## " + arrToString(Dict.decode(developers)) + " ## " +
+           arrToString(Dict.decode(categories)) + " ## " + arrToString(Dict.decode(genres)) + " ## " + arrToString(Dict.decode(tags)) + " ##";
 }
 
 
@@ -72,15 +103,15 @@ public String toString() {
             g.releaseDate = normalizeDate(get(c, iRelease));
             g.estimatedOwners = normalizeOwners(get(c, iOwners));
             g.price = normalizePrice(get(c, iPrice));
-            g.supportedLanguages = parseBracketList(get(c, iLangs));
+            g.supportedLanguages = Dict.encode(parseBracketList(get(c, iLangs)));
             g.metacriticScore = normalizeIntOrDefault(get(c, iMetacritic), -1);
             g.userScore = normalizeUserScore(get(c, iUserScore));
             g.achievements = normalizeIntOrDefault(get(c, iAchiev), 0);
-            g.publishers = splitCompanies(get(c, iPublishers));
-            g.developers = splitCompanies(get(c, iDevelopers));
-            g.categories = parseBracketList(get(c, iCategories));
-            g.genres = parseBracketList(get(c, iGenres));
-            g.tags = parseBracketList(get(c, iTags));
+            g.publishers = Dict.encode(splitCompanies(get(c, iPublishers)));
+            g.developers = Dict.encode(splitCompanies(get(c, iDevelopers)));
+            g.categories = Dict.encode(parseBracketList(get(c, iCategories)));
+            g.genres = Dict.encode(parseBracketList(get(c, iGenres)));
+            g.tags = Dict.encode(parseBracketList(get(c, iTags)));
             return g;
         }
 
@@ -114,49 +145,103 @@ public String toString() {
             try { return Float.parseFloat(s.replace(',', '.')); } catch (Exception e) { return -1.0f; }
         }
 
+        // Sem regex nem toLowerCase: as palavras de "grátis" são comparadas sem caixa em ASCII e
+        // os dígitos e pontos são copiados numa passada, com ',' -> '.' já na cópia
         private static float normalizePrice(String s) {
             if (s == null) return 0.0f;
             s = s.trim();
-            if (s.isEmpty()) return 0.0f;
-            String lower = s.toLowerCase();
-            if (lower.contains("free to play") || lower.equals("free") || lower.equals("gratuito")) return 0.0f;
-            s = s.replaceAll("[^0-9,\\.]", "");
-            if (s.isEmpty()) return 0.0f;
-            s = s.replace(',', '.');
-            try { return Float.parseFloat(s); } catch (Exception e) { return 0.0f; }
+            int n = s.length();
+            if (n == 0) return 0.0f;
+            if (lowerAt(s, 0, "free") && n == 4 || lowerAt(s, 0, "gratuito") && n == 8) return 0.0f;
+            for (int i = 0; i + 12 <= n; i++) if (lowerAt(s, i, "free to play")) return 0.0f;
+            char[] num = new char[n];
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (isDigit(c) || c == '.') num[k++] = c;
+                else if (c == ',') num[k++] = '.';
+            }
+            if (k == 0) return 0.0f;
+            try { return Float.parseFloat(new String(num, 0, k)); } catch (Exception e) { return 0.0f; }
         }
 
+        // s tem, a partir de at, o texto em minúsculas lower (ASCII) ignorando a caixa
+        private static boolean lowerAt(String s, int at, String lower) {
+            if (at + lower.length() > s.length()) return false;
+            for (int i = 0; i < lower.length(); i++) {
+                char c = s.charAt(at + i);
+                if (c >= 'A' && c <= 'Z') c = (char) (c + ('a' - 'A'));
+                if (c != lower.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        // Primeira sequência de dígitos, ignorando vírgulas ("20,000 - 50,000" -> 20000); 0 se não couber em int
         private static int normalizeOwners(String s) {
             if (s == null) return 0;
-            s = s.replace(",", "");
-            java.util.regex.Matcher m = java.util.regex.Pattern.compile("(\\d+)").matcher(s);
-            if (m.find()) {
-                try { return Integer.parseInt(m.group(1)); } catch (Exception ignore) {}
+            int i = 0, n = s.length();
+            while (i < n && !isDigit(s.charAt(i))) i++;
+            long v = 0;
+            for (; i < n; i++) {
+                char c = s.charAt(i);
+                if (c == ',') continue;
+                if (!isDigit(c)) break;
+                v = v * 10 + (c - '0');
+                if (v > Integer.MAX_VALUE) return 0;
             }
-            String only = s.replaceAll("\\D+", "");
-            if (only.isEmpty()) return 0;
-            try { return Integer.parseInt(only); } catch (Exception e) { return 0; }
+            return (int) v;
         }
 
 private static String[] parseBracketList(String s) {
     if (s == null) return new String[0];
+    int from = 0, to = s.length();
     int l = s.indexOf('['), r = s.lastIndexOf(']');
-    if (l >= 0 && r > l) s = s.substring(l + 1, r);
-    s = s.trim();
-    if (s.isEmpty()) return new String[0];
+    if (l >= 0 && r > l) { from = l + 1; to = r; }
+    while (from < to && s.charAt(from) <= ' ') from++;
+    while (to > from && s.charAt(to - 1) <= ' ') to--;
+    if (from == to) return new String[0];
 
-    // Divide itens considerando vírgulas fora de aspas
-    List<String> parts = splitCSVLike(s, ',');
+    // Divide itens considerando vírgulas fora de aspas, trabalhando só com índices
     List<String> out = new ArrayList<>();
-    for (String p : parts) {
-        String t = p.trim()
-                   .replaceAll("^[\"']+", "")   // remove aspas simples/duplas do início
-                   .replaceAll("[\"']+$", "");  // remove aspas simples/duplas do final
-        if (!t.isEmpty()) out.add(t);
+    boolean inSingle = false, inDouble = false;
+    int start = from;
+    for (int i = from; i < to; i++) {
+        char c = s.charAt(i);
+        if (c == '\'' && !inDouble) inSingle = !inSingle;
+        else if (c == '"' && !inSingle) inDouble = !inDouble;
+        else if (c == ',' && !inSingle && !inDouble) {
+            addListItem(out, s, start, i);
+            start = i + 1;
+        }
     }
+    addListItem(out, s, start, to);
     return out.toArray(new String[0]);
 }
 
+        // Apara o item e remove aspas simples/duplas do início e do fim, como as regex
+        // "^[\"']+" e "[\"']+$" (este $ também casa antes de um terminador de linha final)
+        private static void addListItem(List<String> out, String s, int a, int b) {
+            while (a < b && s.charAt(a) <= ' ') a++;
+            while (b > a && s.charAt(b - 1) <= ' ') b--;
+            while (a < b && isQuote(s.charAt(a))) a++;
+            if (a < b && !isQuote(s.charAt(b - 1)) && isFinalLineTerminator(s.charAt(b - 1))) {
+                int q = b - 1;
+                while (q > a && isQuote(s.charAt(q - 1))) q--;
+                if (q < b - 1) {
+                    out.add(s.substring(a, q) + s.charAt(b - 1));
+                    return;
+                }
+            }
+            while (b > a && isQuote(s.charAt(b - 1))) b--;
+            if (a < b) out.add(s.substring(a, b));
+        }
+
+        private static boolean isQuote(char c) { return c == '"' || c == '\''; }
+
+        // Terminadores que sobrevivem a trim() ('\n' e '\r' já foram aparados)
+        private static boolean isFinalLineTerminator(char c) {
+            return c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
 
         private static String[] splitCompanies(String s) {
             if (s == null) return new String[0];
@@ -174,57 +259,169 @@ private static String[] parseBracketList(String s) {
         private static List<String> splitCSVLike(String s, char delimiter) {
             List<String> out = new ArrayList<>();
             if (s == null || s.isEmpty()) return out;
-            StringBuilder cur = new StringBuilder();
             boolean inSingle = false, inDouble = false;
+            int start = 0;
             for (int i = 0; i < s.length(); i++) {
                 char c = s.charAt(i);
                 if (c == '\'' && !inDouble) inSingle = !inSingle;
                 else if (c == '"' && !inSingle) inDouble = !inDouble;
 
                 if (c == delimiter && !inSingle && !inDouble) {
-                    out.add(cur.toString());
-                    cur.setLength(0);
-                } else {
-                    cur.append(c);
+                    out.add(s.substring(start, i));
+                    start = i + 1;
                 }
             }
-            out.add(cur.toString());
+            out.add(s.substring(start));
             return out;
         }
 
+        private static final String[] MONTHS = {"jan","feb","mar","apr","may","jun","jul","aug","sep","oct","nov","dec"};
+
+        // Sem regex nem mapa por chamada: separa os tokens por índices sobre o texto (as vírgulas
+        // são descartadas, como no replace(",", "") original) e monta dd/mm/aaaa de uma vez.
         private static String normalizeDate(String raw) {
             if (raw == null) return "01/01/1970";
             raw = trimQuotes(raw).trim();
-            if (raw.matches("\\d{2}/\\d{2}/\\d{4}")) return raw;
+            if (isDdMmYyyy(raw)) return raw;
 
-            String day = "01", month = "01", year = "1970";
-            Map<String,String> mon = new HashMap<>();
-            mon.put("jan","01"); mon.put("feb","02"); mon.put("mar","03"); mon.put("apr","04");
-            mon.put("may","05"); mon.put("jun","06"); mon.put("jul","07"); mon.put("aug","08");
-            mon.put("sep","09"); mon.put("oct","10"); mon.put("nov","11"); mon.put("dec","12");
+            int lo = 0, hi = raw.length();
+            while (lo < hi && (raw.charAt(lo) <= ' ' || raw.charAt(lo) == ',')) lo++;
+            while (hi > lo && (raw.charAt(hi - 1) <= ' ' || raw.charAt(hi - 1) == ',')) hi--;
 
-            String s = raw.toLowerCase().replace(",", "").trim();
-            String[] tk = s.split("\\s+");
-            try {
-                if (tk.length == 3) { // "nov 20 2015"
-                    month = mon.getOrDefault(tk[0].substring(0,3), "01");
-                    String d = tk[1].replaceAll("\\D+","");
-                    day = d.isEmpty() ? "01" : (d.length()==1 ? "0"+d : d);
-                    year = tk[2].replaceAll("\\D+","");
-                } else if (tk.length == 2) { // "nov 2015"
-                    month = mon.getOrDefault(tk[0].substring(0,3), "01");
-                    year = tk[1].replaceAll("\\D+","");
-                } else if (tk.length == 1) { // "2015"
-                    year = tk[0].replaceAll("\\D+","");
-                } else {
+            // até 3 tokens separados por \\s; um trecho só de vírgulas não forma token
+            int[] ts = new int[3], te = new int[3];
+            int tokens = 0;
+            for (int i = lo; i < hi && tokens <= 3; ) {
+                while (i < hi && isRegexSpace(raw.charAt(i))) i++;
+                int st = i;
+                boolean content = false;
+                while (i < hi && !isRegexSpace(raw.charAt(i))) {
+                    if (raw.charAt(i) != ',') content = true;
+                    i++;
+                }
+                if (!content) continue;
+                if (tokens < 3) { ts[tokens] = st; te[tokens] = i; }
+                tokens++;
+            }
+            if (tokens == 0) tokens = 1; // texto vazio vira um único token vazio
+
+            if (tokens > 3) {
+                try {
                     SimpleDateFormat in = new SimpleDateFormat("dd/MM/yyyy");
                     in.setLenient(false);
                     return in.format(in.parse(raw));
-                }
-            } catch (Exception ignore) {}
-            if (month.length()==1) month = "0"+month;
-            if (year.isEmpty()) year = "1970";
-            return day + "/" + month + "/" + year;
+                } catch (Exception ignore) {}
+                return "01/01/1970";
+            }
+
+            StringBuilder sb = new StringBuilder(10);
+            if (tokens == 1) {
+                sb.append("01/01/");
+                appendYear(sb, raw, ts[0], te[0]);
+                return sb.toString();
+            }
+            int month = monthOf(raw, ts[0], te[0]);
+            if (month < 0) return "01/01/1970"; // token curto: substring(0,3) falharia
+            int dayAt = sb.length();
+            if (tokens == 3) appendDigits(sb, raw, ts[1], te[1]);
+            int dayLen = sb.length() - dayAt;
+            if (dayLen == 0) sb.append("01");
+            else if (dayLen == 1) sb.insert(dayAt, '0');
+            sb.append('/').append((char) ('0' + month / 10)).append((char) ('0' + month % 10)).append('/');
+            appendYear(sb, raw, ts[tokens - 1], te[tokens - 1]);
+            return sb.toString();
+        }
+
+        private static boolean isDdMmYyyy(String s) {
+            if (s.length() != 10 || s.charAt(2) != '/' || s.charAt(5) != '/') return false;
+            for (int i = 0; i < 10; i++) if (i != 2 && i != 5 && !isDigit(s.charAt(i))) return false;
+            return true;
+        }
+
+        private static void appendDigits(StringBuilder sb, String s, int from, int to) {
+            for (int i = from; i < to; i++) if (isDigit(s.charAt(i))) sb.append(s.charAt(i));
+        }
+
+        private static void appendYear(StringBuilder sb, String s, int from, int to) {
+            int at = sb.length();
+            appendDigits(sb, s, from, to);
+            if (sb.length() == at) sb.append("1970");
+        }
+
+        // Mês (1..12) pelas 3 primeiras letras do token, em minúsculas; 1 se não for um mês
+        // conhecido e -1 se o token (sem vírgulas, já em minúsculas) tiver menos de 3 caracteres
+        private static int monthOf(String s, int from, int to) {
+            char[] k = new char[3];
+            int n = 0;
+            boolean ascii = true;
+            for (int i = from; i < to; i++) {
+                char c = s.charAt(i);
+                if (c == ',') continue;
+                if (c >= 0x80) { ascii = false; break; }
+                if (n < 3) k[n] = (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+                n++;
+            }
+            if (!ascii) { // toLowerCase() pode mudar o tamanho do texto fora do ASCII
+                String low = s.substring(from, to).replace(",", "").toLowerCase();
+                if (low.length() < 3) return -1;
+                low.getChars(0, 3, k, 0);
+                n = low.length();
+            }
+            if (n < 3) return -1;
+            for (int m = 0; m < 12; m++) {
+                String name = MONTHS[m];
+                if (name.charAt(0) == k[0] && name.charAt(1) == k[1] && name.charAt(2) == k[2]) return m + 1;
+            }
+            return 1;
+        }
+    }
+
+    // ---------------- Dicionário de valores ----------------
+    // Os mesmos poucos milhares de valores ("Action", "Single-player", "English"...) se repetem
+    // em todas as linhas; cada lista de Game guarda só os códigos (int[]) desses valores.
+    // Seguro para várias threads: a leitura não trava, só a inclusão de um valor novo.
+    static final class Dict {
+        private static final ConcurrentHashMap<String,Integer> codes = new ConcurrentHashMap<>();
+        private static volatile String[] values = new String[256];
+        private static int size;
+
+        static int code(String v) {
+            Integer c = codes.get(v);
+            return c != null ? c : add(v);
+        }
+
+        // -1 se o valor nunca apareceu
+        static int find(String v) {
+            Integer c = codes.get(v);
+            return c == null ? -1 : c;
+        }
+
+        private static synchronized int add(String v) {
+            Integer c = codes.get(v);
+            if (c != null) return c;
+            String[] vs = values;
+            if (size == vs.length) vs = Arrays.copyOf(vs, size * 2);
+            vs[size] = v;
+            values = vs;          // publica o valor antes do código
+            codes.put(v, size);
+            return size++;
+        }
+
+        static String value(int code) { return values[code]; }
+
+        static int size() { return codes.size(); }
+
+        static int[] encode(String[] vs) {
+            int[] out = new int[vs.length];
+            for (int i = 0; i < vs.length; i++) out[i] = code(vs[i]);
+            return out;
+        }
+
+        static String[] decode(int[] cs) {
+            String[] vs = values;
+            String[] out = new String[cs.length];
+            for (int i = 0; i < cs.length; i++) out[i] = vs[cs[i]];
+            return out;
         }
     }
 
@@ -265,42 +462,1598 @@ private static String[] parseBracketList(String s) {
         return cols.toArray(new String[0]);
     }
 
-    private static Map<Integer,String[]> indexById(String[][] table) {
-        Map<Integer,String[]> map = new HashMap<>();
-        for (String[] row : table) {
-            if (row.length == 0) continue;
+    // ---------------- CSV mapeado em memória ----------------
+    // Mapeia o arquivo em segmentos de 1 GiB (cada MappedByteBuffer é limitado a 2 GiB),
+    // o que permite varrer CSVs de vários GB direto nos bytes, sem BufferedReader.
+    static final class MappedFile implements Closeable {
+        static final int SEG_SHIFT = 30;
+        static final long SEG_MASK = (1L << SEG_SHIFT) - 1;
+
+        final long size;
+        private final FileChannel channel;
+        private final MappedByteBuffer[] segs;
+
+        private MappedFile(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            int n = (int) ((size + SEG_MASK) >>> SEG_SHIFT);
+            segs = new MappedByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                long base = (long) i << SEG_SHIFT;
+                segs[i] = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(SEG_MASK + 1, size - base));
+            }
+        }
+
+        static MappedFile open(String path) throws IOException {
+            FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
             try {
-                int id = Integer.parseInt(row[0].trim().replaceAll("\\D+",""));
-                map.put(id, row);
-            } catch (Exception ignore) {}
+                return new MappedFile(ch);
+            } catch (IOException e) {
+                ch.close();
+                throw e;
+            }
+        }
+
+        // byte sem sinal na posição p
+        int get(long p) {
+            return segs[(int) (p >>> SEG_SHIFT)].get((int) (p & SEG_MASK)) & 0xFF;
+        }
+
+        // p deve ser múltiplo de 4 (resp. 8), para nunca cruzar a fronteira de um segmento
+        int getInt(long p) {
+            return segs[(int) (p >>> SEG_SHIFT)].getInt((int) (p & SEG_MASK));
+        }
+
+        long getLong(long p) {
+            return segs[(int) (p >>> SEG_SHIFT)].getLong((int) (p & SEG_MASK));
+        }
+
+        // Decodifica [from, to) como UTF-8 (mesmo charset de Files.newBufferedReader)
+        String string(long from, long to) {
+            int len = (int) (to - from);
+            if (len <= 0) return "";
+            byte[] b = new byte[len];
+            for (int i = 0; i < len; i++) b[i] = (byte) get(from + i);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException { channel.close(); }
+    }
+
+    // Posição do terminador da linha que começa em p (ou size, na última linha)
+    static long lineEnd(MappedFile f, long p) {
+        while (p < f.size) {
+            int b = f.get(p);
+            if (b == '\n' || b == '\r') break;
+            p++;
+        }
+        return p;
+    }
+
+    // Início da linha seguinte; "\r\n", "\n" e "\r" terminam linha, como em readLine()
+    static long nextLine(MappedFile f, long end) {
+        if (end >= f.size) return f.size;
+        if (f.get(end) == '\r' && end + 1 < f.size && f.get(end + 1) == '\n') return end + 2;
+        return end + 1;
+    }
+
+    // Fim do campo que começa em p: primeira vírgula fora de aspas (mesmas regras de splitCSVLine)
+    static long fieldEnd(MappedFile f, long p, long to) {
+        boolean inSingle = false, inDouble = false;
+        for (; p < to; p++) {
+            int c = f.get(p);
+            if (c == '\'' && !inDouble) inSingle = !inSingle;
+            else if (c == '"' && !inSingle) inDouble = !inDouble;
+            else if (c == ',' && !inSingle && !inDouble) break;
+        }
+        return p;
+    }
+
+    // Equivalente a splitCSVLine sobre os bytes [from, to) de uma linha
+    static String[] splitCSVLine(MappedFile f, long from, long to) {
+        List<String> cols = new ArrayList<>();
+        long p = from;
+        while (true) {
+            long e = fieldEnd(f, p, to);
+            cols.add(trimmed(f, p, e));
+            if (e >= to) break;
+            p = e + 1;
+        }
+        return cols.toArray(new String[0]);
+    }
+
+    // String.trim() aplicado aos bytes: em UTF-8, bytes <= ' ' nunca fazem parte de um caractere multibyte
+    static String trimmed(MappedFile f, long s, long e) {
+        while (s < e && f.get(s) <= ' ') s++;
+        while (e > s && f.get(e - 1) <= ' ') e--;
+        return f.string(s, e);
+    }
+
+    // AppID da linha lido direto dos bytes do 1º campo, com a mesma regra de indexById
+    // (descarta não dígitos); -1 se não houver dígitos ou não couber em int
+    static long parseId(MappedFile f, long from, long to) {
+        long e = fieldEnd(f, from, to);
+        long v = 0;
+        boolean any = false;
+        for (long p = from; p < e; p++) {
+            int c = f.get(p);
+            if (c < '0' || c > '9') continue;
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE) return -1;
+            any = true;
+        }
+        return any ? v : -1;
+    }
+
+    // Tabela sobre o arquivo mapeado: guarda apenas onde cada linha começa e termina;
+    // as Strings só são criadas para as linhas/campos efetivamente lidos.
+    static final class MappedTable {
+        final MappedFile file;
+        final long[] start, end;
+        final int rows;
+
+        MappedTable(MappedFile file, long[] start, long[] end, int rows) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+            this.rows = rows;
+        }
+
+        String[] row(int r) { return splitCSVLine(file, start[r], end[r]); }
+
+        String field(int r, int col) {
+            long p = start[r];
+            for (int c = 0; c < col; c++) {
+                p = fieldEnd(file, p, end[r]);
+                if (p >= end[r]) return "";
+                p++;
+            }
+            return trimmed(file, p, fieldEnd(file, p, end[r]));
+        }
+
+        long id(int r) { return parseId(file, start[r], end[r]); }
+    }
+
+    private static MappedTable loadCSVMapped(String path) throws IOException {
+        MappedFile f = MappedFile.open(path);
+        long[] start = new long[1024], end = new long[1024];
+        int n = 0;
+        long p = nextLine(f, lineEnd(f, 0)); // pula cabeçalho
+        while (p < f.size) {
+            long e = lineEnd(f, p);
+            if (n == start.length) {
+                start = Arrays.copyOf(start, n * 2);
+                end = Arrays.copyOf(end, n * 2);
+            }
+            start[n] = p;
+            end[n] = e;
+            n++;
+            p = nextLine(f, e);
+        }
+        return new MappedTable(f, start, end, n);
+    }
+
+    // ---------------- Carga paralela ----------------
+    // Início da primeira linha que começa em p ou depois dele. Como loadCSV usa readLine(),
+    // toda quebra de linha encerra um registro (as aspas só valem dentro da linha), então
+    // ressincronizar no próximo terminador reproduz exatamente as mesmas linhas.
+    static long lineStartAtOrAfter(MappedFile f, long p) {
+        if (p >= f.size) return f.size;
+        int prev = f.get(p - 1);
+        if (prev == '\n' || (prev == '\r' && f.get(p) != '\n')) return p;
+        return nextLine(f, lineEnd(f, p));
+    }
+
+    // Divide [from, to) em blocos; cada folha separa as linhas que COMEÇAM no seu bloco
+    static final class ChunkTask extends RecursiveTask<List<String[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final MappedFile f;
+        private final long[] bounds;
+        private final int lo, hi; // blocos [lo, hi)
+
+        ChunkTask(MappedFile f, long[] bounds, int lo, int hi) {
+            this.f = f;
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected List<String[]> compute() {
+            if (hi - lo == 1) {
+                List<String[]> rows = new ArrayList<>();
+                long p = bounds[lo], stop = bounds[hi];
+                while (p < stop) {
+                    long e = lineEnd(f, p);
+                    rows.add(splitCSVLine(f, p, e));
+                    p = nextLine(f, e);
+                }
+                return rows;
+            }
+            int mid = (lo + hi) >>> 1;
+            ChunkTask left = new ChunkTask(f, bounds, lo, mid);
+            left.fork();
+            List<String[]> right = new ChunkTask(f, bounds, mid, hi).compute();
+            List<String[]> rows = left.join();
+            rows.addAll(right); // mantém a ordem do arquivo
+            return rows;
+        }
+    }
+
+    private static String[][] loadCSVParallel(String path, int threads) throws IOException {
+        try (MappedFile f = MappedFile.open(path)) {
+            long dataStart = nextLine(f, lineEnd(f, 0)); // pula cabeçalho
+            int chunks = Math.max(1, threads * 4);
+            long span = f.size - dataStart;
+            long[] bounds = new long[chunks + 1];
+            for (int i = 0; i <= chunks; i++) {
+                long nominal = dataStart + span * i / chunks;
+                bounds[i] = i == 0 ? dataStart : lineStartAtOrAfter(f, nominal);
+            }
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+            try {
+                return pool.invoke(new ChunkTask(f, bounds, 0, chunks)).toArray(new String[0][]);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static IntIndex indexById(MappedTable table) {
+        IntIndex map = new IntIndex(table.rows);
+        for (int r = 0; r < table.rows; r++) {
+            long id = table.id(r);
+            if (id >= 0) map.put((int) id, r);
         }
         return map;
     }
 
-    private static String findCsvPath() {
-        String p1 = "/tmp/games.csv";
-        String p2 = "games.csv";
-        if (Files.exists(Paths.get(p1))) return p1;
-        return p2;
+    // ---------------- Índice int -> int ----------------
+    // Hash de endereçamento aberto com sondagem linear sobre int[] paralelos de chaves e
+    // valores: nenhum Integer nem nó por entrada, e uma consulta percorre posições vizinhas
+    // do mesmo vetor em vez de seguir ponteiros. Valores são índices (>= 0).
+    static final class IntIndex {
+        private static final int FREE = -1;
+
+        private int[] keys, vals;
+        private int size, mask;
+
+        IntIndex(int expected) {
+            int cap = 16;
+            while (cap < expected * 2L) cap <<= 1; // fator de carga <= 0.5
+            alloc(cap);
+        }
+
+        private void alloc(int cap) {
+            keys = new int[cap];
+            vals = new int[cap];
+            Arrays.fill(vals, FREE);
+            mask = cap - 1;
+        }
+
+        private static int hash(int k) {
+            int h = k * 0x9E3779B9; // espalha ids sequenciais
+            return h ^ (h >>> 16);
+        }
+
+        int get(int key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                int v = vals[i];
+                if (v == FREE || keys[i] == key) return v;
+            }
+        }
+
+        // Retorna o valor anterior, ou -1
+        int put(int key, int value) {
+            if (value < 0) throw new IllegalArgumentException("Valor negativo: " + value);
+            if ((size + 1) * 2 > keys.length) grow();
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (vals[i] == FREE) {
+                    keys[i] = key;
+                    vals[i] = value;
+                    size++;
+                    return FREE;
+                }
+                if (keys[i] == key) {
+                    int old = vals[i];
+                    vals[i] = value;
+                    return old;
+                }
+            }
+        }
+
+        int size() { return size; }
+
+        private void grow() {
+            int[] k = keys, v = vals;
+            alloc(keys.length * 2);
+            size = 0;
+            for (int i = 0; i < k.length; i++) if (v[i] != FREE) put(k[i], v[i]);
+        }
     }
 
-    public static void main(String[] args) throws Exception {
-        String csvPath = findCsvPath();
-        String[][] table = loadCSV(csvPath);
-        Map<Integer,String[]> byId = indexById(table);
+    // ---------------- Índice preguiçoso ----------------
+    // Guarda só id -> (offset, tamanho) da linha no arquivo mapeado; a linha é separada e
+    // normalizada na primeira consulta e, opcionalmente, o Game resultante fica em cache.
+    static final class LazyIndex implements Closeable {
+        static final int LEN_BITS = 24;                 // linhas de até 16 MiB
+        static final long MAX_OFFSET = (1L << (64 - LEN_BITS)) - 1;
 
-        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
-        String line;
-        while ((line = in.readLine()) != null) {
-            line = line.trim();
-            if (line.equals("FIM")) break;
-            if (line.isEmpty()) continue;
-            int id;
-            try { id = Integer.parseInt(line); } catch (Exception e) { continue; }
-            String[] cols = byId.get(id);
-            if (cols == null) continue;
-            Game g = Game.fromCSV(cols);
-            System.out.println(g.toString());
+        private final MappedFile file;
+        private final IntIndex where = new IntIndex(1024); // id -> posição em packed[]
+        private long[] packed = new long[1024];
+        private int rows;
+        private final Map<Long,Game> cache;             // null = sem cache; chave = posição empacotada
+
+        private LazyIndex(MappedFile file, boolean cache) {
+            this.file = file;
+            this.cache = cache ? new HashMap<>() : null;
+        }
+
+        static long pack(long offset, long length) throws IOException {
+            if (offset > MAX_OFFSET || length >= (1L << LEN_BITS))
+                throw new IOException("Linha fora dos limites do índice em " + offset);
+            return (offset << LEN_BITS) | length;
+        }
+
+        static long offset(long packed) { return packed >>> LEN_BITS; }
+
+        static long length(long packed) { return packed & ((1L << LEN_BITS) - 1); }
+
+        static LazyIndex build(String path, boolean cache) throws IOException {
+            MappedFile f = MappedFile.open(path);
+            LazyIndex idx = new LazyIndex(f, cache);
+            long p = nextLine(f, lineEnd(f, 0)); // pula cabeçalho
+            while (p < f.size) {
+                long e = lineEnd(f, p);
+                long id = parseId(f, p, e);
+                if (id >= 0) idx.add((int) id, pack(p, e - p));
+                p = nextLine(f, e);
+            }
+            return idx;
+        }
+
+        private void add(int id, long at) {
+            int slot = where.get(id);
+            if (slot >= 0) {         // id repetido: a última linha vence
+                packed[slot] = at;
+                return;
+            }
+            if (rows == packed.length) packed = Arrays.copyOf(packed, rows * 2);
+            where.put(id, rows);
+            packed[rows++] = at;
+        }
+
+        Game get(int id) {
+            long at = position(id);
+            if (at < 0) return null;
+            if (cache != null) {
+                Game g = cache.get(at);
+                if (g != null) return g;
+            }
+            Game g = parse(at);
+            if (cache != null) cache.put(at, g);
+            return g;
+        }
+
+        // Posição empacotada da linha do id, ou -1
+        long position(int id) {
+            int slot = where.get(id);
+            return slot < 0 ? -1 : packed[slot];
+        }
+
+        // Monta o Game da linha; não toca no cache, pode ser chamado por várias threads
+        Game parse(long at) {
+            long off = offset(at);
+            return Game.fromCSV(splitCSVLine(file, off, off + length(at)));
+        }
+
+        @Override
+        public void close() throws IOException { file.close(); }
+    }
+
+    // ---------------- Modo follow ----------------
+    // Índice preguiçoso de um CSV que só cresce no fim. Cada reload() lê apenas os bytes
+    // depois do último offset consumido e publica uma nova Version imutável de uma vez só;
+    // quem consulta pega a Version corrente e nunca vê um índice pela metade.
+    // - As posições ficam em segmentos imutáveis (o mais novo por último, e ele vence em id
+    //   repetido). Um reload acrescenta um segmento com as linhas novas e funde os dois
+    //   últimos enquanto o penúltimo não for maior que o dobro do último: cada linha é
+    //   recopiada O(log n) vezes, e o custo do reload acompanha o tamanho da mudança.
+    // - A última linha sem terminador pode estar sendo escrita: ela entra como "cauda"
+    //   provisória só depois que o campo id terminou (a vírgula já chegou; "12" de "1234,..."
+    //   não vira o id 12), só para ids que os segmentos ainda não têm, e é relida por inteiro
+    //   no reload seguinte. Assim um CSV sem '\n' final ainda mostra a última linha.
+    // - Se o arquivo encolher (foi reescrito, não apenas acrescido), o índice é refeito.
+    // - O cache de Games é por posição empacotada, que não muda quando o arquivo cresce.
+    static final class FollowIndex implements Closeable {
+        private static final class Segment {
+            final IntIndex where;                  // id -> posição em packed[]
+            long[] packed;
+            int rows;
+
+            Segment(int expected) {
+                where = new IntIndex(expected);
+                packed = new long[Math.max(expected, 16)];
+            }
+
+            void add(int id, long at) {            // só durante a montagem do segmento
+                int slot = where.get(id);
+                if (slot >= 0) {
+                    packed[slot] = at;
+                    return;
+                }
+                if (rows == packed.length) packed = Arrays.copyOf(packed, rows * 2);
+                where.put(id, rows);
+                packed[rows++] = at;
+            }
+
+            long position(int id) {
+                int slot = where.get(id);
+                return slot < 0 ? -1 : packed[slot];
+            }
+
+            // Segmento com as entradas de older e newer (newer vence)
+            static Segment merge(Segment older, Segment newer) {
+                Segment m = new Segment(older.rows + newer.rows);
+                for (Segment s : new Segment[] {older, newer}) {
+                    for (int i = 0; i < s.where.keys.length; i++) {
+                        int slot = s.where.vals[i];
+                        if (slot != IntIndex.FREE) m.add(s.where.keys[i], s.packed[slot]);
+                    }
+                }
+                return m;
+            }
+        }
+
+        private static final class Version {
+            final MappedFile file;                 // mapeia o arquivo até o tamanho lido neste reload
+            final Segment[] segments;
+            final int tailId;                      // -1 = sem cauda provisória
+            final long tailAt;
+            final long resume;                     // offset da próxima leitura (0 = cabeçalho ainda não lido)
+            final Map<Long,Game> cache;            // compartilhado enquanto o arquivo só cresce
+
+            Version(MappedFile file, Segment[] segments, int tailId, long tailAt, long resume, Map<Long,Game> cache) {
+                this.file = file;
+                this.segments = segments;
+                this.tailId = tailId;
+                this.tailAt = tailAt;
+                this.resume = resume;
+                this.cache = cache;
+            }
+
+            long position(int id) {
+                for (int i = segments.length - 1; i >= 0; i--) {
+                    long at = segments[i].position(id);
+                    if (at >= 0) return at;
+                }
+                return tailId >= 0 && tailId == id ? tailAt : -1;   // linha completa vence a cauda
+            }
+        }
+
+        private final String path;
+        private final AtomicReference<Version> current = new AtomicReference<>();
+        private final boolean cached;
+
+        private FollowIndex(String path, boolean cache) {
+            this.path = path;
+            this.cached = cache;
+        }
+
+        static FollowIndex build(String path, boolean cache) throws IOException {
+            FollowIndex idx = new FollowIndex(path, cache);
+            idx.reload();
+            return idx;
+        }
+
+        /** Incorpora as linhas acrescentadas desde o último reload; devolve quantas leu. */
+        synchronized int reload() throws IOException {
+            Version v = current.get();
+            long size = Files.size(Paths.get(path));
+            if (v != null && size == v.file.size) return 0;
+            if (v != null && size < v.resume) v = null;                  // arquivo reescrito: do zero
+
+            MappedFile f = MappedFile.open(path);
+            Map<Long,Game> cache = v != null ? v.cache : cached ? new ConcurrentHashMap<>() : null;
+            long p = v == null ? 0 : v.resume;
+            if (p == 0) {                                                 // cabeçalho
+                long e = lineEnd(f, 0);
+                if (e == f.size) {
+                    publish(new Version(f, new Segment[0], -1, 0, 0, cache));
+                    return 0;
+                }
+                p = nextLine(f, e);
+            }
+            Segment added = new Segment(1024);
+            int tailId = -1, read = 0;
+            long tailAt = 0, resume = p;
+            while (p < f.size) {
+                long e = lineEnd(f, p);
+                long id = parseId(f, p, e);
+                if (e == f.size) {                                        // sem terminador: provisória
+                    if (id >= 0 && fieldEnd(f, p, e) < e) {               // id ainda pode estar pela metade
+                        tailId = (int) id;
+                        tailAt = LazyIndex.pack(p, e - p);
+                        read++;
+                    }
+                    break;
+                }
+                if (id >= 0) {
+                    added.add((int) id, LazyIndex.pack(p, e - p));
+                    read++;
+                }
+                p = nextLine(f, e);
+                resume = p;
+            }
+
+            List<Segment> segs = new ArrayList<>(v == null ? Collections.emptyList() : Arrays.asList(v.segments));
+            if (added.rows > 0) segs.add(added);
+            while (segs.size() >= 2 && segs.get(segs.size() - 2).rows <= 2 * segs.get(segs.size() - 1).rows) {
+                Segment newer = segs.remove(segs.size() - 1), older = segs.remove(segs.size() - 1);
+                segs.add(Segment.merge(older, newer));
+            }
+            publish(new Version(f, segs.toArray(new Segment[0]), tailId, tailAt, resume, cache));
+            return read;
+        }
+
+        // O canal antigo pode ser fechado: os mapeamentos de quem ainda lê a versão antiga
+        // continuam válidos até serem coletados
+        private void publish(Version next) throws IOException {
+            Version prev = current.getAndSet(next);
+            if (prev != null) prev.file.close();
+        }
+
+        Game get(int id) {
+            Version v = current.get();             // uma única versão durante toda a consulta
+            long at = v.position(id);
+            if (at < 0) return null;
+            if (v.cache != null) {
+                Game g = v.cache.get(at);
+                if (g != null) return g;
+            }
+            long off = LazyIndex.offset(at);
+            Game g = Game.fromCSV(splitCSVLine(v.file, off, off + LazyIndex.length(at)));
+            if (v.cache != null) v.cache.put(at, g);
+            return g;
+        }
+
+        @Override
+        public void close() throws IOException { current.get().file.close(); }
+    }
+
+    // ---------------- Snapshot binário colunar ----------------
+    // "Compila" os Games já normalizados num arquivo binário versionado, uma coluna por
+    // campo, e o mapeia em memória na carga seguinte: nenhuma linha do CSV é relida.
+    // Layout (big-endian): cabeçalho fixo + tabela de offsets das seções; cada seção é um
+    // int[] (floats como bits) ou um blob de bytes, sempre alinhada em 8 bytes.
+    // Listas e datas fora do padrão dd/mm/aaaa usam códigos de um dicionário de Strings.
+    static final class Snapshot implements Closeable {
+        static final int MAGIC = 0x54503453;   // "TP4S"
+        static final int VERSION = 2;
+        static final int FINGERPRINT_BLOCK = 64 * 1024;
+
+        static final int S_ID = 0, S_DATE = 1, S_OWNERS = 2, S_PRICE = 3, S_META = 4, S_USER = 5,
+                         S_ACH = 6, S_NAME_OFF = 7, S_NAME_BYTES = 8, S_LISTS = 9,   // 6 listas x (offsets, códigos)
+                         S_DICT_OFF = 21, S_DICT_BYTES = 22,
+                         S_KEY = 23, SECTIONS = 24;            // S_KEY: chave de indexById (-1 = sem id)
+        static final int HEADER = 4 * 4 + 3 * 8 + SECTIONS * 8;
+
+        private final MappedFile file;
+        final int rows;
+        private final long[] sec = new long[SECTIONS];
+        private final String[] dict;
+        private final int[] global;      // código do snapshot -> código do Dict (-1 = ainda não mapeado)
+
+        private Snapshot(MappedFile file) throws IOException {
+            this.file = file;
+            if (file.size < HEADER || file.getInt(0) != MAGIC || file.getInt(4) != VERSION)
+                throw new IOException("Snapshot inválido");
+            rows = file.getInt(8);
+            int dictSize = file.getInt(12);
+            for (int i = 0; i < SECTIONS; i++) sec[i] = file.getLong(40 + 8L * i);
+            dict = new String[dictSize];
+            global = new int[dictSize];
+            Arrays.fill(global, -1);
+            for (int i = 0; i < dictSize; i++) {
+                long from = sec[S_DICT_BYTES] + file.getInt(sec[S_DICT_OFF] + 4L * i);
+                long to = sec[S_DICT_BYTES] + file.getInt(sec[S_DICT_OFF] + 4L * (i + 1));
+                dict[i] = file.string(from, to);
+            }
+        }
+
+        static Snapshot open(String snapPath) throws IOException {
+            MappedFile f = MappedFile.open(snapPath);
+            try {
+                return new Snapshot(f);
+            } catch (IOException e) {
+                f.close();
+                throw e;
+            }
+        }
+
+        // Abre o snapshot de csvPath, recompilando-o se não existir ou estiver desatualizado
+        static Snapshot openOrCompile(String csvPath) throws IOException {
+            String snapPath = csvPath + ".snap";
+            if (!isFresh(snapPath, csvPath)) compile(csvPath, snapPath);
+            return open(snapPath);
+        }
+
+        private int col(int s, int r) { return file.getInt(sec[s] + 4L * r); }
+
+        int id(int r) { return col(S_ID, r); }
+
+        // Chave da linha pela regra de indexById; -1 se o id não for válido
+        int key(int r) { return col(S_KEY, r); }
+
+        Game game(int r) {
+            Game g = new Game();
+            g.id = col(S_ID, r);
+            g.name = file.string(sec[S_NAME_BYTES] + col(S_NAME_OFF, r), sec[S_NAME_BYTES] + col(S_NAME_OFF, r + 1));
+            int d = col(S_DATE, r);
+            g.releaseDate = d < 0 ? dict[-d - 1] : unpackDate(d);
+            g.estimatedOwners = col(S_OWNERS, r);
+            g.price = Float.intBitsToFloat(col(S_PRICE, r));
+            g.supportedLanguages = list(0, r);
+            g.metacriticScore = col(S_META, r);
+            g.userScore = Float.intBitsToFloat(col(S_USER, r));
+            g.achievements = col(S_ACH, r);
+            g.publishers = list(1, r);
+            g.developers = list(2, r);
+            g.categories = list(3, r);
+            g.genres = list(4, r);
+            g.tags = list(5, r);
+            return g;
+        }
+
+        private int[] list(int which, int r) {
+            int offSec = S_LISTS + 2 * which, codeSec = offSec + 1;
+            int from = col(offSec, r), to = col(offSec, r + 1);
+            int[] out = new int[to - from];
+            for (int i = from; i < to; i++) {
+                int c = col(codeSec, i);
+                if (global[c] < 0) global[c] = Dict.code(dict[c]);
+                out[i - from] = global[c];
+            }
+            return out;
+        }
+
+        // "dd/mm/aaaa" (só dígitos) -> aaaammdd; -1 se não estiver nesse formato
+        static int packDate(String s) {
+            if (s == null || s.length() != 10 || s.charAt(2) != '/' || s.charAt(5) != '/') return -1;
+            int v = 0;
+            for (int i : new int[]{6, 7, 8, 9, 3, 4, 0, 1}) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') return -1;
+                v = v * 10 + (c - '0');
+            }
+            return v;
+        }
+
+        static String unpackDate(int v) {
+            int y = v / 10000, m = v / 100 % 100, d = v % 100;
+            char[] c = {(char) ('0' + d / 10), (char) ('0' + d % 10), '/', (char) ('0' + m / 10), (char) ('0' + m % 10), '/',
+                        (char) ('0' + y / 1000), (char) ('0' + y / 100 % 10), (char) ('0' + y / 10 % 10), (char) ('0' + y % 10)};
+            return new String(c);
+        }
+
+        // Impressão digital barata do CSV: CRC32 do primeiro e do último bloco de 64 KiB
+        static long fingerprint(String csvPath) throws IOException {
+            java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+            try (FileChannel ch = FileChannel.open(Paths.get(csvPath), StandardOpenOption.READ)) {
+                long size = ch.size();
+                java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocate(FINGERPRINT_BLOCK);
+                for (long at : new long[]{0, Math.max(0, size - FINGERPRINT_BLOCK)}) {
+                    buf.clear();
+                    while (buf.hasRemaining() && ch.read(buf, at + buf.position()) > 0) { }
+                    buf.flip();
+                    crc.update(buf);
+                }
+            }
+            return crc.getValue();
+        }
+
+        static boolean isFresh(String snapPath, String csvPath) throws IOException {
+            Path snap = Paths.get(snapPath), csv = Paths.get(csvPath);
+            if (!Files.exists(snap) || Files.size(snap) < HEADER) return false;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snap)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) return false;
+                in.readInt();
+                in.readInt();
+                return in.readLong() == Files.size(csv)
+                    && in.readLong() == Files.getLastModifiedTime(csv).toMillis()
+                    && in.readLong() == fingerprint(csvPath);
+            }
+        }
+
+        static void compile(String csvPath, String snapPath) throws IOException {
+            long csvSize = Files.size(Paths.get(csvPath));
+            long csvMtime = Files.getLastModifiedTime(Paths.get(csvPath)).toMillis();
+            long csvPrint = fingerprint(csvPath);
+            String[][] table = loadCSVParallel(csvPath, Runtime.getRuntime().availableProcessors());
+            int n = table.length;
+
+            Map<String,Integer> codes = new HashMap<>();
+            List<String> words = new ArrayList<>();
+            int[] ids = new int[n], keys = new int[n], dates = new int[n], owners = new int[n], price = new int[n],
+                  meta = new int[n], user = new int[n], ach = new int[n], nameOff = new int[n + 1];
+            ByteArrayOutputStream names = new ByteArrayOutputStream();
+            int[][] listOff = new int[6][n + 1];
+            int[][] listCodes = new int[6][16];
+            int[] listLen = new int[6];
+
+            for (int r = 0; r < n; r++) {
+                Game g = Game.fromCSV(table[r]);
+                ids[r] = g.id;
+                keys[r] = idKey(table[r]);
+                int d = packDate(g.releaseDate);
+                dates[r] = d >= 0 ? d : -code(codes, words, g.releaseDate) - 1;
+                owners[r] = g.estimatedOwners;
+                price[r] = Float.floatToRawIntBits(g.price);
+                meta[r] = g.metacriticScore;
+                user[r] = Float.floatToRawIntBits(g.userScore);
+                ach[r] = g.achievements;
+                byte[] nb = g.name.getBytes(StandardCharsets.UTF_8);
+                names.write(nb, 0, nb.length);
+                nameOff[r + 1] = nameOff[r] + nb.length;
+                int[][] lists = {g.supportedLanguages, g.publishers, g.developers, g.categories, g.genres, g.tags};
+                for (int l = 0; l < 6; l++) {
+                    for (int v : lists[l]) {
+                        if (listLen[l] == listCodes[l].length) listCodes[l] = Arrays.copyOf(listCodes[l], listLen[l] * 2);
+                        listCodes[l][listLen[l]++] = code(codes, words, Dict.value(v));
+                    }
+                    listOff[l][r + 1] = listLen[l];
+                }
+            }
+
+            int[] dictOff = new int[words.size() + 1];
+            ByteArrayOutputStream dictBytes = new ByteArrayOutputStream();
+            for (int i = 0; i < words.size(); i++) {
+                byte[] wb = words.get(i).getBytes(StandardCharsets.UTF_8);
+                dictBytes.write(wb, 0, wb.length);
+                dictOff[i + 1] = dictOff[i] + wb.length;
+            }
+
+            Object[] sections = new Object[SECTIONS];
+            sections[S_ID] = ids;
+            sections[S_DATE] = dates;
+            sections[S_OWNERS] = owners;
+            sections[S_PRICE] = price;
+            sections[S_META] = meta;
+            sections[S_USER] = user;
+            sections[S_ACH] = ach;
+            sections[S_NAME_OFF] = nameOff;
+            sections[S_NAME_BYTES] = names.toByteArray();
+            for (int l = 0; l < 6; l++) {
+                sections[S_LISTS + 2 * l] = listOff[l];
+                sections[S_LISTS + 2 * l + 1] = Arrays.copyOf(listCodes[l], listLen[l]);
+            }
+            sections[S_DICT_OFF] = dictOff;
+            sections[S_DICT_BYTES] = dictBytes.toByteArray();
+            sections[S_KEY] = keys;
+
+            long[] at = new long[SECTIONS];
+            long pos = HEADER;
+            for (int i = 0; i < SECTIONS; i++) {
+                at[i] = pos;
+                pos = align(pos + bytes(sections[i]));
+            }
+
+            // escreve num temporário e troca de uma vez: leitores nunca veem um snapshot pela metade
+            Path tmp = Paths.get(snapPath + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(n);
+                out.writeInt(words.size());
+                out.writeLong(csvSize);
+                out.writeLong(csvMtime);
+                out.writeLong(csvPrint);
+                for (long a : at) out.writeLong(a);
+                for (Object sct : sections) {
+                    long len = bytes(sct);
+                    if (sct instanceof int[]) for (int v : (int[]) sct) out.writeInt(v);
+                    else out.write((byte[]) sct);
+                    for (long k = len; k < align(len); k++) out.writeByte(0);
+                }
+            }
+            Files.move(tmp, Paths.get(snapPath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private static int code(Map<String,Integer> codes, List<String> words, String v) {
+            Integer c = codes.get(v);
+            if (c == null) {
+                c = words.size();
+                codes.put(v, c);
+                words.add(v);
+            }
+            return c;
+        }
+
+        private static long bytes(Object section) {
+            return section instanceof int[] ? 4L * ((int[]) section).length : ((byte[]) section).length;
+        }
+
+        private static long align(long p) { return (p + 7) & ~7L; }
+
+        @Override
+        public void close() throws IOException { file.close(); }
+    }
+
+    // ---------------- Saída formatada ----------------
+    // Escreve a linha "=> id ## nome ## ..." de Game.toString() direto num buffer de bytes
+    // reaproveitado, que é despejado em blocos grandes. A saída é idêntica à de
+    // System.out.println(g.toString()): mesmo charset, mesmo separador de linha e o mesmo
+    // arredondamento de %.2f / %.1f.
+    static final class GameWriter implements Flushable {
+        private final OutputStream out;
+        private final Charset charset;
+        private final byte[] newline;
+        private final byte[] buf = new byte[1 << 16];
+        private int pos;
+
+        GameWriter(OutputStream out, Charset charset) {
+            this.out = out;
+            this.charset = charset;
+            this.newline = System.lineSeparator().getBytes(charset);
+        }
+
+        // Charset usado por System.out (JDK 17: sun.stdout.encoding, senão o padrão da JVM)
+        static Charset stdoutCharset() {
+            String enc = System.getProperty("sun.stdout.encoding");
+            try {
+                if (enc != null) return Charset.forName(enc);
+            } catch (Exception ignore) {}
+            return Charset.defaultCharset();
+        }
+
+        void write(Game g) throws IOException {
+            ascii("=> ");
+            integer(g.id);
+            ascii(" ## ");
+            text(g.name);
+            ascii(" ## ");
+            text(g.releaseDate);
+            ascii(" ## ");
+            integer(g.estimatedOwners);
+            ascii(" ## ");
+            fixed(g.price, 2);
+            ascii(" ## ");
+            list(g.supportedLanguages);
+            ascii(" ## ");
+            integer(g.metacriticScore);
+            ascii(" ## ");
+            if (g.userScore == -1.0f) ascii("-1.0");
+            else fixed(g.userScore, 1);
+            ascii(" ## ");
+            integer(g.achievements);
+            ascii(" ## ");
+            list(g.publishers);
+            ascii(" ## ");
+            list(g.developers);
+            ascii(" ## ");
+            list(g.categories);
+            ascii(" ## ");
+            list(g.genres);
+            ascii(" ## ");
+            list(g.tags);
+            ascii(" ##");
+            bytes(newline, 0, newline.length);
+        }
+
+        private void put(int b) throws IOException {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        private void bytes(byte[] b, int off, int len) throws IOException {
+            if (len > buf.length - pos) drain();
+            if (len > buf.length) {
+                out.write(b, off, len);
+                return;
+            }
+            System.arraycopy(b, off, buf, pos, len);
+            pos += len;
+        }
+
+        private void ascii(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) put(s.charAt(i));
+        }
+
+        // ASCII vai direto para o buffer; trechos não ASCII passam pelo charset
+        private void text(String s) throws IOException {
+            if (s == null) return;
+            for (int i = 0; i < s.length(); ) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    put(c);
+                    i++;
+                } else {
+                    int j = i + 1;
+                    while (j < s.length() && s.charAt(j) >= 0x80) j++;
+                    byte[] b = s.substring(i, j).getBytes(charset);
+                    bytes(b, 0, b.length);
+                    i = j;
+                }
+            }
+        }
+
+        private void integer(int v) throws IOException {
+            if (v < 0) {
+                put('-');
+                if (v == Integer.MIN_VALUE) {
+                    ascii("2147483648");
+                    return;
+                }
+                v = -v;
+            }
+            if (pos + 10 > buf.length) drain();
+            int end = pos + digits(v);
+            for (int i = end - 1; i >= pos; i--) {
+                buf[i] = (byte) ('0' + v % 10);
+                v /= 10;
+            }
+            pos = end;
+        }
+
+        private static int digits(long v) {
+            int n = 1;
+            while (v >= 10) {
+                v /= 10;
+                n++;
+            }
+            return n;
+        }
+
+        // Mesmo resultado de String.format(Locale.US, "%.Nf", f): o Formatter arredonda
+        // HALF_UP a representação decimal mais curta de (double) f. Para cada meio-termo
+        // t = (j + 0.5) / 10^N, t <= essa representação exatamente quando o double mais
+        // próximo de t é <= (double) f; o resultado é a quantidade desses meios-termos.
+        private void fixed(float f, int decimals) throws IOException {
+            double d = f;
+            if (!(Math.abs(d) < 1e9)) { // NaN, infinito e valores enormes: caminho genérico
+                ascii(String.format(Locale.US, decimals == 2 ? "%.2f" : "%.1f", f));
+                return;
+            }
+            int scale = decimals == 2 ? 100 : 10;
+            if (Float.floatToRawIntBits(f) < 0) put('-'); // inclusive -0.0
+            double a = Math.abs(d);
+            long j = Math.max(0, (long) (a * scale) - 1);
+            while ((2 * j + 1) / (2.0 * scale) <= a) j++;
+            integer((int) (j / scale));
+            put('.');
+            int frac = (int) (j % scale);
+            if (decimals == 2) put('0' + frac / 10);
+            put('0' + frac % 10);
+        }
+
+        // arrToString sem String intermediária nem regex
+        private void list(int[] codes) throws IOException {
+            if (codes == null) {
+                ascii("[]");
+                return;
+            }
+            put('[');
+            boolean afterComma = false;
+            for (int i = 0; i < codes.length; i++) {
+                afterComma = spaced(Dict.value(codes[i]), afterComma);
+                if (i + 1 < codes.length) afterComma = spaced(", ", afterComma);
+            }
+            put(']');
+        }
+
+        // Mesma regra de Game.appendSpaced (",\\s*" -> ", ")
+        private boolean spaced(String s, boolean afterComma) throws IOException {
+            for (int i = 0; i < s.length(); ) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    int j = i + 1;
+                    while (j < s.length() && s.charAt(j) >= 0x80) j++;
+                    byte[] b = s.substring(i, j).getBytes(charset);
+                    bytes(b, 0, b.length);
+                    afterComma = false;
+                    i = j;
+                    continue;
+                }
+                i++;
+                if (afterComma && Game.isRegexSpace(c)) continue;
+                afterComma = c == ',';
+                if (afterComma) ascii(", ");
+                else put(c);
+            }
+            return afterComma;
+        }
+
+        private void drain() throws IOException {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+    }
+
+    // ---------------- Normalizadores originais ----------------
+    // Implementações anteriores (com regex), mantidas só para a comparação de --check-normalizers
+    static final class LegacyNormalizers {
+        private static String arrToString(String[] arr) {
+            if (arr == null) return "[]";
+            StringBuilder sb = new StringBuilder();
+            sb.append('[');
+            for (int i = 0; i < arr.length; i++) {
+                sb.append(arr[i]);
+                if (i + 1 < arr.length) sb.append(", ");
+            }
+            sb.append(']');
+            // garante espaço depois de toda vírgula, mesmo quando o campo veio como um item único
+            return sb.toString().replaceAll(",\\s*", ", ");
+        }
+
+        private static float normalizePrice(String s) {
+            if (s == null) return 0.0f;
+            s = s.trim();
+            if (s.isEmpty()) return 0.0f;
+            String lower = s.toLowerCase();
+            if (lower.contains("free to play") || lower.equals("free") || lower.equals("gratuito")) return 0.0f;
+            s = s.replaceAll("[^0-9,\\.]", "");
+            if (s.isEmpty()) return 0.0f;
+            s = s.replace(',', '.');
+            try { return Float.parseFloat(s); } catch (Exception e) { return 0.0f; }
+        }
+
+        private static int normalizeOwners(String s) {
+            if (s == null) return 0;
+            s = s.replace(",", "");
+            java.util.regex.Matcher m = java.util.regex.Pattern.compile("(\\d+)").matcher(s);
+            if (m.find()) {
+                try { return Integer.parseInt(m.group(1)); } catch (Exception ignore) {}
+            }
+            String only = s.replaceAll("\\D+", "");
+            if (only.isEmpty()) return 0;
+            try { return Integer.parseInt(only); } catch (Exception e) { return 0; }
+        }
+
+        private static String[] parseBracketList(String s) {
+            if (s == null) return new String[0];
+            int l = s.indexOf('['), r = s.lastIndexOf(']');
+            if (l >= 0 && r > l) s = s.substring(l + 1, r);
+            s = s.trim();
+            if (s.isEmpty()) return new String[0];
+
+            // Divide itens considerando vírgulas fora de aspas
+            List<String> parts = splitCSVLike(s, ',');
+            List<String> out = new ArrayList<>();
+            for (String p : parts) {
+                String t = p.trim()
+                           .replaceAll("^[\"']+", "")   // remove aspas simples/duplas do início
+                           .replaceAll("[\"']+$", "");  // remove aspas simples/duplas do final
+                if (!t.isEmpty()) out.add(t);
+            }
+            return out.toArray(new String[0]);
+        }
+
+        private static List<String> splitCSVLike(String s, char delimiter) {
+            List<String> out = new ArrayList<>();
+            if (s == null || s.isEmpty()) return out;
+            StringBuilder cur = new StringBuilder();
+            boolean inSingle = false, inDouble = false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '\'' && !inDouble) inSingle = !inSingle;
+                else if (c == '"' && !inSingle) inDouble = !inDouble;
+
+                if (c == delimiter && !inSingle && !inDouble) {
+                    out.add(cur.toString());
+                    cur.setLength(0);
+                } else {
+                    cur.append(c);
+                }
+            }
+            out.add(cur.toString());
+            return out;
+        }
+
+        private static String normalizeDate(String raw) {
+            if (raw == null) return "01/01/1970";
+            raw = Game.trimQuotes(raw).trim();
+            if (raw.matches("\\d{2}/\\d{2}/\\d{4}")) return raw;
+
+            String day = "01", month = "01", year = "1970";
+            Map<String,String> mon = new HashMap<>();
+            mon.put("jan","01"); mon.put("feb","02"); mon.put("mar","03"); mon.put("apr","04");
+            mon.put("may","05"); mon.put("jun","06"); mon.put("jul","07"); mon.put("aug","08");
+            mon.put("sep","09"); mon.put("oct","10"); mon.put("nov","11"); mon.put("dec","12");
+
+            String s = raw.toLowerCase().replace(",", "").trim();
+            String[] tk = s.split("\\s+");
+            try {
+                if (tk.length == 3) { // "nov 20 2015"
+                    month = mon.getOrDefault(tk[0].substring(0,3), "01");
+                    String d = tk[1].replaceAll("\\D+","");
+                    day = d.isEmpty() ? "01" : (d.length()==1 ? "0"+d : d);
+                    year = tk[2].replaceAll("\\D+","");
+                } else if (tk.length == 2) { // "nov 2015"
+                    month = mon.getOrDefault(tk[0].substring(0,3), "01");
+                    year = tk[1].replaceAll("\\D+","");
+                } else if (tk.length == 1) { // "2015"
+                    year = tk[0].replaceAll("\\D+","");
+                } else {
+                    SimpleDateFormat in = new SimpleDateFormat("dd/MM/yyyy");
+                    in.setLenient(false);
+                    return in.format(in.parse(raw));
+                }
+            } catch (Exception ignore) {}
+            if (month.length()==1) month = "0"+month;
+            if (year.isEmpty()) year = "1970";
+            return day + "/" + month + "/" + year;
+        }
+    }
+
+    // Compara os normalizadores novos com os originais em todas as linhas do CSV e em
+    // alguns casos-limite; imprime as divergências e retorna quantas houve
+    private static int checkNormalizers(String[][] table) {
+        List<String[]> rows = new ArrayList<>(Arrays.asList(table));
+        String[] edge = {"", " ", ",", "[]", "[ ]", "['']", "[\"'a'\"]", "['a',, 'b' ]", "['x\u2028']", "[' y'\u2028]",
+                         "'\u2028'", "a ,  b,\tc", "0 - 20,000", "99999999999", "00000000001", "1,2,3", "nov", "n",
+                         "Nov 20, 2015", "\"Nov 20, 2015\"", "nov 2015", "2015", "20/11/2015", "1/2/2015 a b c",
+                         "12/03/2015 x y z", "Ja , 2015", "jan ,,, 2015", "İan 2 2015", "Ⅿar 3 2015", "MAR 3 2015",
+                         "mar\u00a0 3 2015", "\u0001mar 3", "sep 31st, 2020", "x y", "Sept. 2019", "coming soon",
+                         "Free", "FREE", "free ", "Free to Play", "xFREE TO PLAYx", "free-to-play", "Gratuito",
+                         "GRATUİTO", "gratuitos", "$1,99", "R$ 1.234,56", "1.2.3", "..", "€", "ﬀree", "9 ,99"};
+        for (String e : edge) rows.add(new String[]{e, e, e, e, e, e, e, e, e, e, e, e, e, e});
+        int bad = 0;
+        for (String[] c : rows) {
+            for (int i = 0; i < c.length; i++) {
+                String v = c[i];
+                bad += same("normalizeOwners", v, LegacyNormalizers.normalizeOwners(v), Game.normalizeOwners(v));
+                bad += same("normalizePrice", v, LegacyNormalizers.normalizePrice(v), Game.normalizePrice(v));
+                bad += same("normalizeDate", v, LegacyNormalizers.normalizeDate(v), Game.normalizeDate(v));
+                String[] a = LegacyNormalizers.parseBracketList(v), b = Game.parseBracketList(v);
+                bad += same("parseBracketList", v, Arrays.toString(a), Arrays.toString(b));
+                bad += same("arrToString", v, LegacyNormalizers.arrToString(a), Game.arrToString(b));
+                String[] co = Game.splitCompanies(v);
+                bad += same("arrToString", v, LegacyNormalizers.arrToString(co), Game.arrToString(co));
+                bad += same("splitCSVLike", v, String.valueOf(LegacyNormalizers.splitCSVLike(v, ',')), String.valueOf(Game.splitCSVLike(v, ',')));
+            }
+        }
+        System.out.println("normalizadores: " + rows.size() + " linhas, " + bad + " divergências");
+        return bad;
+    }
+
+    // --check-table: a GameTable lida do mesmo CSV tem, linha a linha, os valores que o Game
+    // daqui imprime (ela é a base de RangeIndex, TopK, NameIndex e GroupBy)
+    private static int checkTable(String[][] table, String csvPath) throws IOException {
+        GameTable t = GameTable.load(csvPath);
+        int bad = same("size", csvPath, table.length, t.size());
+        String[] lists = {"supportedLanguages", "publishers", "developers", "categories", "genres", "tags"};
+        for (int r = 0; r < Math.min(table.length, t.size()); r++) {
+            Game g = Game.fromCSV(table[r]);
+            GameTable.Row row = t.row(r);
+            String at = "linha " + (r + 1);
+            bad += same("id", at, g.id, row.getId());
+            bad += same("name", at, g.name, row.getName());
+            bad += same("releaseDate", at, g.releaseDate, row.getReleaseDate());
+            bad += same("estimatedOwners", at, g.estimatedOwners, row.getEstimatedOwners());
+            bad += same("price", at, g.price, row.getPrice());
+            bad += same("metacriticScore", at, g.metacriticScore, row.getMetacriticScore());
+            bad += same("userScore", at, g.userScore, row.getUserScore());
+            bad += same("achievements", at, g.achievements, row.getAchievements());
+            int[][] expected = {g.supportedLanguages, g.publishers, g.developers, g.categories, g.genres, g.tags};
+            String[][] actual = {row.getSupportedLanguages(), row.getPublishers(), row.getDevelopers(),
+                                 row.getCategories(), row.getGenres(), row.getTags()};
+            for (int l = 0; l < lists.length; l++) {           // como aparecem na saída
+                String[] e = new String[expected[l].length];
+                for (int i = 0; i < e.length; i++) e[i] = Dict.value(expected[l][i]);
+                bad += same(lists[l], at, Game.arrToString(e), Game.arrToString(actual[l]));
+            }
+        }
+        System.out.println("tabela: " + t.size() + " linhas, " + bad + " divergências");
+        return bad;
+    }
+
+    private static int same(String what, String in, Object expected, Object actual) {
+        if (Objects.equals(expected, actual)) return 0;
+        System.out.println(what + "(" + in + "): esperado " + expected + ", obtido " + actual);
+        return 1;
+    }
+
+    // id -> índice da linha em table
+    private static IntIndex indexById(String[][] table) {
+        IntIndex map = new IntIndex(table.length);
+        for (int r = 0; r < table.length; r++) {
+            int id = idKey(table[r]);
+            if (id >= 0) map.put(id, r);
+        }
+        return map;
+    }
+
+    // Chave da linha em indexById: só os dígitos do 1º campo; -1 se não houver id válido
+    static int idKey(String[] row) {
+        if (row.length == 0) return -1;
+        try {
+            return Integer.parseInt(row[0].trim().replaceAll("\\D+",""));
+        } catch (Exception ignore) {
+            return -1;
+        }
+    }
+
+    // Versão original com HashMap, mantida para comparação em --bench-index
+    private static Map<Integer,String[]> indexByIdHashMap(String[][] table) {
+        Map<Integer,String[]> map = new HashMap<>();
+        for (String[] row : table) {
+            if (row.length == 0) continue;
+            try {
+                int id = Integer.parseInt(row[0].trim().replaceAll("\\D+",""));
+                map.put(id, row);
+            } catch (Exception ignore) {}
+        }
+        return map;
+    }
+
+    // Compara HashMap<Integer,String[]> com IntIndex em consultas aleatórias (acertos e falhas)
+    private static void benchIndex(String[][] table) {
+        int lookups = 5_000_000;
+        int[] ids = new int[table.length];
+        for (int r = 0; r < table.length; r++) {
+            try { ids[r] = Integer.parseInt(table[r][0].trim().replaceAll("\\D+","")); } catch (Exception e) { ids[r] = -1; }
+        }
+        Random rnd = new Random(42);
+        int[] probe = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            probe[i] = (i & 3) == 3 || ids.length == 0 ? rnd.nextInt(Integer.MAX_VALUE) : ids[rnd.nextInt(ids.length)];
+        }
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            Map<Integer,String[]> hm = indexByIdHashMap(table);
+            long t1 = System.nanoTime();
+            long hits = 0;
+            for (int id : probe) if (hm.get(id) != null) hits++;
+            long t2 = System.nanoTime();
+            IntIndex ii = indexById(table);
+            long t3 = System.nanoTime();
+            long hits2 = 0;
+            for (int id : probe) if (ii.get(id) >= 0) hits2++;
+            long t4 = System.nanoTime();
+            System.out.printf(Locale.US, "rodada %d: HashMap build %.1f ms, %d consultas %.1f ms (%d hits) | IntIndex build %.1f ms, consultas %.1f ms (%d hits)%n",
+                    round, (t1 - t0) / 1e6, lookups, (t2 - t1) / 1e6, hits, (t3 - t2) / 1e6, (t4 - t3) / 1e6, hits2);
+        }
+    }
+
+    // ---------------- Consulta em lote ----------------
+    // Lê todos os ids de uma vez, remove repetidos, ordena as linhas encontradas pela posição
+    // no arquivo (leitura sequencial do mapeamento), monta os Games em paralelo e imprime
+    // na ordem original dos pedidos (repetidos são impressos de novo, ausentes são ignorados).
+    private static int[] readIds(BufferedReader in) throws IOException {
+        int[] req = new int[1024];
+        int n = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.equals("FIM")) break;
+            if (line.isEmpty()) continue;
+            int id;
+            try { id = Integer.parseInt(line); } catch (Exception e) { continue; }
+            if (n == req.length) req = Arrays.copyOf(req, n * 2);
+            req[n++] = id;
+        }
+        return Arrays.copyOf(req, n);
+    }
+
+    private static void runBatch(LazyIndex idx, BufferedReader in, GameWriter out) throws IOException {
+        writeGames(idx, readIds(in), out);
+    }
+
+    // Escreve os jogos dos ids na ordem pedida; ids ausentes são ignorados
+    private static void writeGames(LazyIndex idx, int[] req, GameWriter out) throws IOException {
+        int n = req.length;
+        IntIndex uniq = new IntIndex(n);       // id -> posição em at[]
+        long[] at = new long[n];
+        int u = 0;
+        for (int i = 0; i < n; i++) {
+            if (uniq.get(req[i]) >= 0) continue;
+            uniq.put(req[i], u);
+            at[u++] = idx.position(req[i]);
+        }
+
+        long[] sorted = Arrays.copyOf(at, u);
+        Arrays.sort(sorted);
+        int first = 0;
+        while (first < u && sorted[first] < 0) first++; // ids ausentes ficam no começo
+        long[] hits = Arrays.copyOfRange(sorted, first, u);
+        Game[] parsed = new Game[hits.length];
+        IntStream.range(0, hits.length).parallel().forEach(j -> parsed[j] = idx.parse(hits[j]));
+
+        for (int i = 0; i < n; i++) {
+            long p = at[uniq.get(req[i])];
+            if (p < 0) continue;
+            out.write(parsed[Arrays.binarySearch(hits, p)]);
+        }
+    }
+
+    /**
+     * --range=coluna:min:max — jogos com min <= valor <= max segundo o RangeIndex da coluna
+     * (price, metacriticScore, userScore, estimatedOwners, achievements, releaseDate), em
+     * ordem crescente do valor. Com --batch, restringe os ids pedidos aos da faixa.
+     *
+     * Observações:
+     * - A GameTable vem do mesmo Game.fromCSV que imprime, e só entra a linha que a busca por
+     *   id encontra (regra de indexById): o filtro e a saída nunca discordam.
+     * - Tabela montada uma vez; o RangeIndex de cada coluna, na primeira consulta a ela.
+     * - As consultas devolvem linhas de table.
+     */
+    static final class RangeRows {
+        private final IntIndex byId;
+        private final GameTable t;
+        private final int[] rowOf;                     // linha da GameTable -> linha de table
+        private final RangeIndex[] indexes = new RangeIndex[GameTable.Column.values().length];
+
+        RangeRows(String[][] table, IntIndex byId) {
+            this.byId = byId;
+            t = GameTable.create(table.length);
+            rowOf = new int[table.length];
+            for (int r = 0; r < table.length; r++) {
+                int id = idKey(table[r]);
+                if (id < 0 || byId.get(id) != r) continue;  // sem id, ou encoberta por outra com o mesmo id
+                Game g = Game.fromCSV(table[r]);
+                rowOf[t.size()] = r;
+                t.add(id, g.name, g.releaseDate, g.estimatedOwners, g.price, Dict.decode(g.supportedLanguages),
+                      g.metacriticScore, g.userScore, g.achievements, Dict.decode(g.publishers),
+                      Dict.decode(g.developers), Dict.decode(g.categories), Dict.decode(g.genres), Dict.decode(g.tags));
+            }
+        }
+
+        RangeIndex index(GameTable.Column c) {
+            RangeIndex idx = indexes[c.ordinal()];
+            if (idx == null) indexes[c.ordinal()] = idx = RangeIndex.build(t, c);
+            return idx;
+        }
+
+        // --range=coluna:min:max
+        int[] query(String spec, int[] requested) {
+            String[] p = spec.split(":");
+            if (p.length != 3) throw new IllegalArgumentException("Use --range=coluna:min:max");
+            GameTable.Column col = null;
+            for (GameTable.Column c : GameTable.Column.values())
+                if (c.name().replace("_", "").equalsIgnoreCase(p[0].replace("_", ""))) col = c;
+            if (col == null) throw new IllegalArgumentException("Coluna desconhecida: " + p[0]);
+            return between(col, Double.parseDouble(p[1]), Double.parseDouble(p[2]), requested);
+        }
+
+        /** Linhas com min <= valor <= max; com requested, só as dos ids pedidos, na ordem do pedido. */
+        int[] between(GameTable.Column c, double min, double max, int[] requested) {
+            int[] rows = index(c).between(min, max);
+            for (int i = 0; i < rows.length; i++) rows[i] = rowOf[rows[i]];
+            if (requested == null) return rows;
+
+            IntIndex inRange = new IntIndex(rows.length);
+            for (int r : rows) inRange.put(r, 0);
+            int n = 0;
+            int[] out = new int[requested.length];
+            for (int id : requested) {
+                int r = byId.get(id);
+                if (r >= 0 && inRange.get(r) >= 0) out[n++] = r;
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    // --check-range: para várias faixas de cada coluna, as linhas de RangeRows são exatamente
+    // as que têm o valor impresso dentro da faixa, em ordem crescente desse valor
+    private static int checkRange(String[][] table) {
+        IntIndex byId = indexById(table);
+        int[] winners = new int[table.length];
+        int w = 0;
+        for (int r = 0; r < table.length; r++) {
+            int id = idKey(table[r]);
+            if (id >= 0 && byId.get(id) == r) winners[w++] = r;
+        }
+        winners = Arrays.copyOf(winners, w);
+        Game[] printed = new Game[table.length];
+        for (int r : winners) printed[r] = Game.fromCSV(table[r]);
+
+        long b0 = System.nanoTime();
+        RangeRows ranges = new RangeRows(table, byId);
+        for (GameTable.Column c : GameTable.Column.values()) ranges.index(c);
+        long buildNs = System.nanoTime() - b0, queryNs = 0;
+        Random rnd = new Random(4);
+        int bad = 0, checks = 0;
+        for (GameTable.Column c : GameTable.Column.values()) {
+            double[] value = new double[table.length];
+            for (int r : winners) value[r] = printedValue(c, printed[r]);
+            for (int k = 0; k < 40 && w > 0; k++) {
+                double a = value[winners[rnd.nextInt(w)]], b = value[winners[rnd.nextInt(w)]];
+                double min = k % 4 == 0 ? a : Math.min(a, b), max = k % 4 == 0 ? a : Math.max(a, b);
+                if (k == 1) { min = -1e12; max = 1e12; }
+                long q0 = System.nanoTime();
+                int[] got = ranges.between(c, min, max, null);
+                queryNs += System.nanoTime() - q0;
+
+                int expected = 0;
+                for (int r : winners) if (value[r] >= min && value[r] <= max) expected++;
+                boolean ok = got.length == expected;
+                boolean[] seen = new boolean[table.length];
+                double prev = Double.NEGATIVE_INFINITY;
+                for (int r : got) {
+                    ok &= printed[r] != null && !seen[r] && value[r] >= min && value[r] <= max && value[r] >= prev;
+                    seen[r] = true;
+                    prev = value[r];
+                }
+                checks++;
+                if (!ok) {
+                    bad++;
+                    System.out.println("--range=" + c + ":" + min + ":" + max + ": " + got.length
+                                       + " linhas, esperado " + expected);
+                }
+            }
+        }
+        System.out.printf("faixas: %d consultas, %d divergências (montagem=%.1f ms, consulta=%.1f µs)%n",
+                          checks, bad, buildNs / 1e6, queryNs / 1e3 / Math.max(checks, 1));
+        return bad;
+    }
+
+    // Valor da coluna como o jogo é impresso (data: aaaammdd)
+    private static double printedValue(GameTable.Column c, Game g) {
+        switch (c) {
+            case PRICE: return g.price;
+            case METACRITIC_SCORE: return g.metacriticScore;
+            case USER_SCORE: return g.userScore;
+            case ESTIMATED_OWNERS: return g.estimatedOwners;
+            case ACHIEVEMENTS: return g.achievements;
+            default: return Snapshot.packDate(g.releaseDate);
+        }
+    }
+
+    private static String findCsvPath() {
+        String p1 = "/tmp/games.csv";
+        String p2 = "games.csv";
+        if (Files.exists(Paths.get(p1))) return p1;
+        return p2;
+    }
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String a : args) if (a.equals(flag)) return true;
+        return false;
+    }
+
+    // Valor de uma opção "--nome=valor", ou null
+    private static String flagValue(String[] args, String prefix) {
+        for (String a : args) if (a.startsWith(prefix)) return a.substring(prefix.length());
+        return null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String csvPath = findCsvPath();
+        // --mmap: varre o CSV mapeado em memória e só materializa as linhas consultadas
+        MappedTable mapped = null;
+        String[][] table = null;
+        IntIndex byId = null;
+        // --lazy: indexa só as posições das linhas; --cache guarda os Games já montados
+        LazyIndex lazy = null;
+        // --follow[=ms]: como --lazy, mas relê a cada ms (padrão 1000) só o que foi acrescido ao CSV
+        FollowIndex follow = null;
+        ScheduledExecutorService poller = null;
+        // --snapshot: usa (e recompila se preciso) o snapshot binário games.csv.snap;
+        // --compile: só gera o snapshot
+        Snapshot snap = null;
+        if (hasFlag(args, "--compile")) {
+            Snapshot.compile(csvPath, csvPath + ".snap");
+            return;
+        }
+        // --batch: resolve todos os ids de uma vez (de stdin ou do arquivo em --ids=arquivo)
+        String idsPath = flagValue(args, "--ids=");
+        String range = flagValue(args, "--range=");
+        boolean batch = hasFlag(args, "--batch") || idsPath != null;
+        if (range != null) {
+            int[] requested = null;
+            if (batch) {
+                try (BufferedReader in = idsPath != null ? Files.newBufferedReader(Paths.get(idsPath))
+                                                         : new BufferedReader(new InputStreamReader(System.in))) {
+                    requested = readIds(in);
+                }
+            }
+            String[][] rows = loadCSVParallel(csvPath, Runtime.getRuntime().availableProcessors());
+            GameWriter out = new GameWriter(System.out, GameWriter.stdoutCharset());
+            for (int r : new RangeRows(rows, indexById(rows)).query(range, requested)) out.write(Game.fromCSV(rows[r]));
+            out.flush();
+            return;
+        }
+        if (batch) {
+            try (LazyIndex idx = LazyIndex.build(csvPath, false);
+                 BufferedReader in = idsPath != null ? Files.newBufferedReader(Paths.get(idsPath))
+                                                     : new BufferedReader(new InputStreamReader(System.in))) {
+                GameWriter out = new GameWriter(System.out, GameWriter.stdoutCharset());
+                runBatch(idx, in, out);
+                out.flush();
+            }
+            return;
+        }
+        if (hasFlag(args, "--snapshot")) {
+            snap = Snapshot.openOrCompile(csvPath);
+            byId = new IntIndex(snap.rows);
+            for (int r = 0; r < snap.rows; r++) {
+                int k = snap.key(r);
+                if (k >= 0) byId.put(k, r);          // mesma regra de indexById
+            }
+        } else if (hasFlag(args, "--follow") || flagValue(args, "--follow=") != null) {
+            follow = FollowIndex.build(csvPath, hasFlag(args, "--cache"));
+            String ms = flagValue(args, "--follow=");
+            long period = ms != null ? Long.parseLong(ms) : 1000;
+            FollowIndex f = follow;
+            poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "follow");
+                t.setDaemon(true);
+                return t;
+            });
+            poller.scheduleWithFixedDelay(() -> {
+                try {
+                    f.reload();
+                } catch (IOException e) {
+                    System.err.println("follow: " + e.getMessage());
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        } else if (hasFlag(args, "--lazy")) {
+            lazy = LazyIndex.build(csvPath, hasFlag(args, "--cache"));
+        } else if (hasFlag(args, "--mmap")) {
+            mapped = loadCSVMapped(csvPath);
+            byId = indexById(mapped);
+        } else {
+            // --parallel: separa o arquivo em blocos processados por todos os núcleos
+            table = hasFlag(args, "--parallel")
+                    ? loadCSVParallel(csvPath, Runtime.getRuntime().availableProcessors())
+                    : loadCSV(csvPath);
+            if (hasFlag(args, "--check-normalizers")) {
+                if (checkNormalizers(table) > 0) System.exit(1);
+                return;
+            }
+            if (hasFlag(args, "--check-range")) {
+                if (checkRange(table) > 0) System.exit(1);
+                return;
+            }
+            if (hasFlag(args, "--check-table")) {
+                if (checkTable(table, csvPath) > 0) System.exit(1);
+                return;
+            }
+            if (hasFlag(args, "--bench-index")) {
+                benchIndex(table);
+                return;
+            }
+            byId = indexById(table);
+        }
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        GameWriter out = new GameWriter(System.out, GameWriter.stdoutCharset());
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.equals("FIM")) break;
+            if (line.isEmpty()) continue;
+            int id;
+            try { id = Integer.parseInt(line); } catch (Exception e) { continue; }
+            if (lazy != null || follow != null) {
+                Game g = lazy != null ? lazy.get(id) : follow.get(id);
+                if (g != null) out.write(g);
+                // follow é interativo: a resposta sai assim que a entrada parar de trazer ids
+                if (follow != null && !in.ready()) out.flush();
+                continue;
+            }
+            int r = byId.get(id);
+            if (r < 0) continue;
+            Game g = snap != null ? snap.game(r) : Game.fromCSV(mapped != null ? mapped.row(r) : table[r]);
+            out.write(g);
+        }
+        out.flush();
+        if (mapped != null) mapped.file.close();
+        if (lazy != null) lazy.close();
+        if (poller != null) {
+            poller.shutdownNow();
+            poller.awaitTermination(1, TimeUnit.SECONDS);
         }
+        if (follow != null) follow.close();
+        if (snap != null) snap.close();
     }
 }
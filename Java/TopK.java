@@ -0,0 +1,196 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Top-K sobre uma coluna numérica da GameTable, sem ordenar o catálogo inteiro.
+ *
+ * Observações:
+ * - Cada bloco de linhas mantém um heap mínimo limitado a k entradas (vetores primitivos);
+ *   os blocos rodam em fork-join e os heaps parciais são fundidos dois a dois. Custo O(n log k).
+ * - Empates são desfeitos pelo menor id (e, com id repetido, pela menor linha), então o
+ *   resultado não depende da divisão em blocos nem do número de threads.
+ * - Ex.: "top 50 por metacriticScore no gênero X":
+ *   TopK.largest(t, Column.METACRITIC_SCORE, 50, r -> t.listHasCode(GENRES, r, codigoDeX)).
+ * - main() compara com a ordenação completa: java TopK [games.csv] [k] [repetições].
+ */
+public final class TopK {
+    private static final int LEAF = 1 << 13;         // linhas por tarefa sequencial
+
+    private TopK() {}
+
+    /** Linhas com os k maiores valores da coluna, do maior para o menor. */
+    public static int[] largest(GameTable t, GameTable.Column c, int k, IntPredicate filter) {
+        return top(t, c, k, filter, true, ForkJoinPool.commonPool());
+    }
+
+    /** Linhas com os k menores valores da coluna, do menor para o maior. */
+    public static int[] smallest(GameTable t, GameTable.Column c, int k, IntPredicate filter) {
+        return top(t, c, k, filter, false, ForkJoinPool.commonPool());
+    }
+
+    public static int[] top(GameTable t, GameTable.Column c, int k, IntPredicate filter,
+                            boolean descending, ForkJoinPool pool) {
+        if (k < 0) throw new IllegalArgumentException("k negativo: " + k);
+        if (k == 0 || t.size() == 0) return new int[0];
+        k = Math.min(k, t.size());
+        Heap h = pool.invoke(new Task(t, c, k, filter == null ? r -> true : filter, descending, 0, t.size()));
+        return h.drain();
+    }
+
+    // Prioridade: chave nos 32 bits altos (invertida se crescente), id invertido nos baixos
+    static long priority(int key, int id, boolean descending) {
+        int k = descending ? key : ~key;
+        return ((long) k << 32) | (~(id ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static final class Task extends RecursiveTask<Heap> {
+        private static final long serialVersionUID = 1L;
+
+        private final GameTable t;
+        private final GameTable.Column c;
+        private final int k;
+        private final IntPredicate filter;
+        private final boolean descending;
+        private final int from, to;
+
+        Task(GameTable t, GameTable.Column c, int k, IntPredicate filter, boolean descending, int from, int to) {
+            this.t = t;
+            this.c = c;
+            this.k = k;
+            this.filter = filter;
+            this.descending = descending;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Heap compute() {
+            if (to - from <= LEAF) {
+                Heap h = new Heap(k);
+                for (int r = from; r < to; r++) {
+                    if (filter.test(r)) h.offer(priority(t.key(c, r), t.id(r), descending), r);
+                }
+                return h;
+            }
+            int mid = (from + to) >>> 1;
+            Task left = new Task(t, c, k, filter, descending, from, mid);
+            left.fork();
+            Heap right = new Task(t, c, k, filter, descending, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /** Heap mínimo limitado: a raiz é a pior entrada guardada. */
+    static final class Heap {
+        private final long[] prio;
+        private final int[] rows;
+        private int n;
+
+        Heap(int k) {
+            prio = new long[k];
+            rows = new int[k];
+        }
+
+        private boolean worse(long p1, int r1, long p2, int r2) {
+            return p1 < p2 || (p1 == p2 && r1 > r2);
+        }
+
+        void offer(long p, int row) {
+            if (n < prio.length) {                     // ainda cabe: sobe a nova entrada
+                int i = n++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!worse(p, row, prio[parent], rows[parent])) break;
+                    prio[i] = prio[parent];
+                    rows[i] = rows[parent];
+                    i = parent;
+                }
+                prio[i] = p;
+                rows[i] = row;
+            } else if (worse(prio[0], rows[0], p, row)) {
+                siftDown(p, row);
+            }
+        }
+
+        // Troca a raiz por (p, row) e desce até o lugar certo
+        private void siftDown(long p, int row) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) break;
+                if (child + 1 < n && worse(prio[child + 1], rows[child + 1], prio[child], rows[child])) child++;
+                if (!worse(prio[child], rows[child], p, row)) break;
+                prio[i] = prio[child];
+                rows[i] = rows[child];
+                i = child;
+            }
+            prio[i] = p;
+            rows[i] = row;
+        }
+
+        Heap merge(Heap o) {
+            Heap big = n >= o.n ? this : o, small = big == this ? o : this;
+            for (int i = 0; i < small.n; i++) big.offer(small.prio[i], small.rows[i]);
+            return big;
+        }
+
+        /** Linhas da melhor para a pior (esvazia o heap). */
+        int[] drain() {
+            int[] out = new int[n];
+            for (int i = n - 1; i >= 0; i--) {
+                out[i] = rows[0];
+                long lastP = prio[--n];
+                int lastR = rows[n];
+                if (n > 0) siftDown(lastP, lastR);
+            }
+            return out;
+        }
+    }
+
+    // -------------------- Benchmark --------------------
+    // Referência: ordena todas as prioridades e pega as k melhores
+    static int[] bySort(GameTable t, GameTable.Column c, int k, boolean descending) {
+        int n = t.size();
+        long[] p = new long[n];
+        for (int r = 0; r < n; r++) p[r] = priority(t.key(c, r), t.id(r), descending);
+        // Ordenação só de primitivos: a prioridade vira posto (distintos crescentes, 32 bits),
+        // e posto invertido << 32 | linha ordena por prioridade desc e linha asc de uma vez
+        long[] u = p.clone();
+        Arrays.sort(u);
+        int m = 0;
+        for (int i = 0; i < n; i++) if (m == 0 || u[m - 1] != u[i]) u[m++] = u[i];
+        long[] order = new long[n];
+        for (int r = 0; r < n; r++)
+            order[r] = ((long) (m - 1 - Arrays.binarySearch(u, 0, m, p[r])) << 32) | r;
+        Arrays.sort(order);
+        int[] out = new int[Math.min(k, n)];
+        for (int i = 0; i < out.length; i++) out[i] = (int) order[i];
+        return out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "/tmp/games.csv";
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int reps = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        GameTable t = GameTable.load(path);
+        System.out.println("linhas=" + t.size() + " k=" + k + " núcleos=" + Runtime.getRuntime().availableProcessors());
+        for (GameTable.Column c : GameTable.Column.values()) {
+            int[] expected = bySort(t, c, k, true);
+            long sortNs = Long.MAX_VALUE, heapNs = Long.MAX_VALUE;
+            boolean same = true;
+            for (int rep = 0; rep < reps; rep++) {
+                long t0 = System.nanoTime();
+                bySort(t, c, k, true);
+                long t1 = System.nanoTime();
+                int[] got = largest(t, c, k, null);
+                long t2 = System.nanoTime();
+                sortNs = Math.min(sortNs, t1 - t0);
+                heapNs = Math.min(heapNs, t2 - t1);
+                same &= Arrays.equals(got, expected);
+            }
+            System.out.printf("%-17s ordenação=%8.3f ms  top-k=%8.3f ms  %s%n", c,
+                              sortNs / 1e6, heapNs / 1e6, same ? "iguais" : "DIFERENTES");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário global dos valores das listas de Game (idiomas, publicadoras, desenvolvedoras,
+ * categorias, gêneros e tags).
+ *
+ * Observações:
+ * - Os mesmos poucos milhares de valores se repetem em centenas de milhares de jogos; cada
+ *   Game guarda apenas os códigos (int[]) e decodifica sob demanda.
+ * - Os códigos são densos (0..size()-1) e nunca mudam, então comparar valores vira comparar int.
+ * - Consultas não travam; só a inclusão de um valor novo é sincronizada.
+ */
+public final class ValueDictionary {
+    private static final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private static volatile String[] values = new String[256];
+    private static int size;
+
+    private ValueDictionary() {}
+
+    /** Código do valor, cadastrando-o se for novo. */
+    public static int code(String value) {
+        Integer c = codes.get(value);
+        return c != null ? c : add(value);
+    }
+
+    /** Código do valor, ou -1 se ele nunca apareceu. */
+    public static int find(String value) {
+        if (value == null) return -1;
+        Integer c = codes.get(value);
+        return c == null ? -1 : c;
+    }
+
+    public static String value(int code) { return values[code]; }
+
+    public static int size() { return codes.size(); }
+
+    private static synchronized int add(String value) {
+        Integer c = codes.get(value);
+        if (c != null) return c;
+        String[] vs = values;
+        if (size == vs.length) vs = Arrays.copyOf(vs, size * 2);
+        vs[size] = value;
+        values = vs;              // publica o valor antes do código
+        codes.put(value, size);
+        return size++;
+    }
+
+    public static int[] encode(String[] vs) {
+        int[] out = new int[vs.length];
+        for (int i = 0; i < vs.length; i++) out[i] = code(vs[i]);
+        return out;
+    }
+
+    public static String[] decode(int[] cs) {
+        String[] vs = values;
+        String[] out = new String[cs.length];
+        for (int i = 0; i < cs.length; i++) out[i] = vs[cs[i]];
+        return out;
+    }
+}